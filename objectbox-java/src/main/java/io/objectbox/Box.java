@@ -16,13 +16,19 @@
 
 package io.objectbox;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 
 import javax.annotation.Nullable;
@@ -32,11 +38,18 @@ import io.objectbox.annotation.apihint.Beta;
 import io.objectbox.annotation.apihint.Experimental;
 import io.objectbox.annotation.apihint.Internal;
 import io.objectbox.exception.DbException;
+import io.objectbox.exception.NumericOverflowException;
+import io.objectbox.exception.VersionConflictException;
 import io.objectbox.internal.CallWithHandle;
 import io.objectbox.internal.IdGetter;
 import io.objectbox.internal.ReflectionCache;
+import io.objectbox.query.BatchRemoveListener;
+import io.objectbox.query.Query;
 import io.objectbox.query.QueryBuilder;
+import io.objectbox.reactive.DataSubscription;
 import io.objectbox.relation.RelationInfo;
+import io.objectbox.relation.ToMany;
+import io.objectbox.relation.ToOne;
 
 /**
  * A box to store objects of a particular class.
@@ -47,6 +60,10 @@ import io.objectbox.relation.RelationInfo;
 @ThreadSafe
 @SuppressWarnings("WeakerAccess,UnusedReturnValue,unused")
 public class Box<T> {
+    static final int ADAPTIVE_PUT_START_BATCH_SIZE = 100;
+    static final int ADAPTIVE_PUT_MAX_BATCH_SIZE = 1000000;
+    static final int RELATION_BATCH_SIZE = 10000;
+
     private final BoxStore store;
     private final Class<T> entityClass;
 
@@ -58,6 +75,8 @@ public class Box<T> {
 
     private EntityInfo<T> entityInfo;
     private volatile Field boxStoreField;
+    private volatile List<Field> changeTrackedFields;
+    private volatile List<Field> relationFields;
 
     Box(BoxStore store, Class<T> entityClass) {
         this.store = store;
@@ -378,6 +397,307 @@ public class Box<T> {
         }
     }
 
+    /**
+     * Puts the given object, replacing an existing object with the same value of the given unique property.
+     * See {@link #putOrReplaceByUnique(Collection, Property)} for details.
+     *
+     * @return ID of the put object
+     */
+    public long putOrReplaceByUnique(T entity, Property<T> uniqueProperty) {
+        return putOrReplaceByUnique(Collections.singletonList(entity), uniqueProperty)[0];
+    }
+
+    /**
+     * Puts the given objects using a single transaction. If an object with the same value of the given unique
+     * property (e.g. annotated with {@code @Unique}) is already stored, it is replaced: the ID of the existing
+     * object is set on the given object before putting it. Other objects are put as usual.
+     * <p>
+     * The existing ID is looked up inside the same write transaction, so there is no need to query for existing
+     * objects first. How it is looked up depends on the type of the unique property:
+     * <ul>
+     * <li>String: looked up directly in the index of the property; the property must have an index.</li>
+     * <li>Integer, char or date: a query for the value is run for each given object. Without an index on the
+     * property, each query scans all objects of the box, so add an index (e.g. {@code @Unique} adds one) when putting
+     * many objects into a large box.</li>
+     * </ul>
+     * Objects with a null value for the unique property are put as usual.
+     *
+     * @param uniqueProperty A string, integer, char or date property; see above for index requirements.
+     * @return IDs of the put objects, in the order of the given collection
+     */
+    public long[] putOrReplaceByUnique(@Nullable Collection<T> entities, final Property<T> uniqueProperty) {
+        if (entities == null || entities.isEmpty()) {
+            return new long[0];
+        }
+        final Class<?> type = uniqueProperty.type;
+        final boolean isString = type == String.class;
+        if (!isString && !isIntegerOrDateType(type)) {
+            throw new IllegalArgumentException("Unique property must be a string, integer, char or date property: "
+                    + uniqueProperty);
+        }
+        final Field uniqueField = getPropertyField(uniqueProperty);
+        final Field idField = getPropertyField(getEntityInfo().getIdProperty());
+        final long[] ids = new long[entities.size()];
+        store.runInTx(() -> {
+            // Run queries inside this TX to find objects put before in the same TX
+            Query<T> query = isString ? null : query().equal(uniqueProperty, 0).build();
+            Cursor<T> cursor = getWriter();
+            try {
+                int i = 0;
+                for (T entity : entities) {
+                    Object value = readField(uniqueField, entity);
+                    long existingId = 0;
+                    if (value != null) {
+                        if (isString) {
+                            existingId = cursor.lookupKeyUsingIndex(uniqueProperty.id, (String) value);
+                        } else {
+                            //noinspection ConstantConditions Not null if not a string property.
+                            query.setParameter(uniqueProperty, toLong(value));
+                            long[] found = query.findIds(0, 1);
+                            existingId = found.length > 0 ? found[0] : 0;
+                        }
+                    }
+                    if (existingId != 0) {
+                        writeField(idField, entity, existingId);
+                    }
+                    ids[i++] = cursor.put(entity);
+                }
+            } finally {
+                releaseWriter(cursor);
+                if (query != null) {
+                    query.close();
+                }
+            }
+        });
+        return ids;
+    }
+
+    /**
+     * Sets the given property of the stored object with the given ID to the given value,
+     * reading and putting the object in a single transaction.
+     *
+     * @param property must not be the ID property.
+     * @param value    must match the type of the field of the property, e.g. an Integer for an int property.
+     * @throws IllegalArgumentException if no object with the given ID exists.
+     */
+    public void update(long id, Property<T> property, @Nullable Object value) {
+        checkNotIdProperty(property);
+        Field field = getPropertyField(property);
+        Cursor<T> cursor = getWriter();
+        try {
+            T entity = getExisting(cursor, id);
+            writeField(field, entity, value);
+            cursor.put(entity);
+            commitWriter(cursor);
+        } finally {
+            releaseWriter(cursor);
+        }
+    }
+
+    /**
+     * Adds the given delta to the given integer property of the stored object with the given ID,
+     * reading and putting the object in a single transaction. A null value is treated as 0.
+     * Use this for counters instead of a get and a put, which could lose concurrent increments.
+     *
+     * @param property must be an integer property, but not the ID property.
+     * @return the new value.
+     * @throws IllegalArgumentException if no object with the given ID exists.
+     * @throws NumericOverflowException if the new value exceeds the value range of the property type.
+     */
+    public long increment(long id, Property<T> property, long delta) {
+        checkNotIdProperty(property);
+        Class<?> type = property.type;
+        if (!isIntegerType(type)) {
+            throw new IllegalArgumentException("Property must be an integer property: " + property);
+        }
+        Field field = getPropertyField(property);
+        Cursor<T> cursor = getWriter();
+        try {
+            T entity = getExisting(cursor, id);
+            Object oldValue = readField(field, entity);
+            long oldLong = oldValue != null ? ((Number) oldValue).longValue() : 0;
+            long newValue = oldLong + delta;
+            // Overflow if both operands have the sign opposite of the result
+            if (((oldLong ^ newValue) & (delta ^ newValue)) < 0) {
+                throw new NumericOverflowException("Numeric overflow while incrementing " + property);
+            }
+            writeField(field, entity, toNumberOfType(newValue, type, property));
+            cursor.put(entity);
+            commitWriter(cursor);
+            return newValue;
+        } finally {
+            releaseWriter(cursor);
+        }
+    }
+
+    /**
+     * Sets the given property of the stored object with the given ID to the new value, but only if it currently has
+     * the expected value. Reads and puts the object in a single transaction; e.g. use with a version property to
+     * detect concurrent modifications.
+     *
+     * @param property      must not be the ID property.
+     * @param expectedValue compared using equals (contents for byte arrays); may be null.
+     * @param newValue      must match the type of the field of the property, e.g. an Integer for an int property.
+     * @return true if the value was set; false if the value did not match.
+     * @throws IllegalArgumentException if no object with the given ID exists.
+     */
+    public boolean compareAndSet(long id, Property<T> property, @Nullable Object expectedValue,
+                                 @Nullable Object newValue) {
+        checkNotIdProperty(property);
+        Field field = getPropertyField(property);
+        Cursor<T> cursor = getWriter();
+        try {
+            T entity = getExisting(cursor, id);
+            if (!valueEquals(readField(field, entity), expectedValue)) {
+                return false;
+            }
+            writeField(field, entity, newValue);
+            cursor.put(entity);
+            commitWriter(cursor);
+            return true;
+        } finally {
+            releaseWriter(cursor);
+        }
+    }
+
+    /**
+     * Puts the given object using optimistic concurrency control with the given version property.
+     * See {@link #putWithVersion(Collection, Property)} for details.
+     *
+     * @return ID of the put object
+     * @throws VersionConflictException if the stored object has a different version.
+     */
+    public long putWithVersion(T entity, Property<T> versionProperty) {
+        return putWithVersion(Collections.singletonList(entity), versionProperty)[0];
+    }
+
+    /**
+     * Puts the given objects in a single transaction using optimistic concurrency control:
+     * the version of each object must match the version of its stored object, e.g. it was not put by someone else
+     * since it was read. On success, the version of each object is incremented by one before putting it.
+     * New objects (ID is 0 or no stored object) are put with their version incremented as well.
+     * <p>
+     * If the version of any object does not match or the same ID is contained more than once, no object is put and
+     * versions are left unchanged.
+     *
+     * @param versionProperty A long or int property; a null value counts as 0.
+     * @return IDs of the put objects, in the order of the given collection
+     * @throws VersionConflictException if a stored object has a different version or an ID is contained twice.
+     */
+    public long[] putWithVersion(@Nullable Collection<T> entities, Property<T> versionProperty) {
+        if (entities == null || entities.isEmpty()) {
+            return new long[0];
+        }
+        Class<?> type = versionProperty.type;
+        if (type != long.class && type != Long.class && type != int.class && type != Integer.class) {
+            throw new IllegalArgumentException("Version property must be a long or int property: " + versionProperty);
+        }
+        Field field = getPropertyField(versionProperty);
+        Cursor<T> cursor = getWriter();
+        try {
+            long[] versions = new long[entities.size()];
+            Set<Long> checkedIds = new HashSet<>();
+            int i = 0;
+            for (T entity : entities) {
+                Object version = readField(field, entity);
+                versions[i++] = version != null ? ((Number) version).longValue() : 0;
+                long id = getId(entity);
+                if (id != 0 && !checkedIds.add(id)) {
+                    // Both would pass the check against the same stored version; the latter would overwrite the former
+                    throw new VersionConflictException("Object with ID " + id + " is contained more than once");
+                }
+                T stored = id != 0 ? cursor.get(id) : null;
+                if (stored != null) {
+                    Object storedVersion = readField(field, stored);
+                    long storedLong = storedVersion != null ? ((Number) storedVersion).longValue() : 0;
+                    if (storedLong != versions[i - 1]) {
+                        throw new VersionConflictException("Version " + versions[i - 1] + " of object with ID " + id
+                                + " does not match stored version " + storedLong);
+                    }
+                }
+            }
+
+            long[] ids = new long[versions.length];
+            i = 0;
+            try {
+                for (T entity : entities) {
+                    writeField(field, entity, toNumberOfType(versions[i] + 1, type, versionProperty));
+                    ids[i++] = cursor.put(entity);
+                }
+                commitWriter(cursor);
+            } catch (RuntimeException e) {
+                // Restore versions as the transaction is aborted
+                int j = 0;
+                for (T entity : entities) {
+                    if (j > i) break;
+                    writeField(field, entity, toNumberOfType(versions[j++], type, versionProperty));
+                }
+                throw e;
+            }
+            return ids;
+        } finally {
+            releaseWriter(cursor);
+        }
+    }
+
+    /**
+     * Reserves a range of IDs not used by any stored object and not returned by previous calls of this method,
+     * e.g. to build linked objects in parallel outside of a transaction and then put them in a single short one.
+     * Requires the ID property to allow assigning IDs (PropertyFlags.ID_SELF_ASSIGNABLE,
+     * {@code @Id(assignable = true)}) and the entity class to have a no-arg constructor.
+     * <p>
+     * The reservation is made visible to the ID sequence of the database: within a single write transaction a
+     * placeholder object is put with ID 0 (the assigned ID is skipped) and then put with the last reserved ID and
+     * removed again. Thus, objects put with ID 0 later on get IDs after the reserved range, also after re-opening
+     * the store. Note that observers of this box are notified about that transaction.
+     *
+     * @param count Number of IDs to reserve. Must be 1 or greater.
+     * @return the first reserved ID; the range ends with ID {@code first + count - 1}.
+     * @throws IllegalStateException if the ID property does not allow assigning IDs.
+     */
+    public long reserveIds(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be 1 or greater but was " + count);
+        }
+        T placeholder = newPlaceholder();
+        Field idField = getPropertyField(getEntityInfo().getIdProperty());
+        Cursor<T> cursor = getWriter();
+        try {
+            // The sequence assigns a new ID to the placeholder, which is the last ID not in the range
+            long lastUsedId = cursor.put(placeholder);
+            cursor.deleteEntity(lastUsedId);
+            if (lastUsedId > Long.MAX_VALUE - count) {
+                throw new NumericOverflowException("Can not reserve " + count + " IDs after ID " + lastUsedId);
+            }
+            long lastReservedId = lastUsedId + count;
+            writeField(idField, placeholder, lastReservedId);
+            try {
+                // Moves the sequence past the range; the last reserved ID is always above the sequence, so this
+                // fails if IDs can not be assigned
+                cursor.put(placeholder);
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Can not reserve IDs for " + entityClass.getSimpleName() +
+                        ", the ID property must allow assigning IDs (@Id(assignable = true))", e);
+            }
+            cursor.deleteEntity(lastReservedId);
+            commitWriter(cursor);
+            return lastUsedId + 1;
+        } finally {
+            releaseWriter(cursor);
+        }
+    }
+
+    private T newPlaceholder() {
+        try {
+            Constructor<T> constructor = entityClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can not reserve IDs for " + entityClass.getSimpleName() +
+                    ", the entity class must have a no-arg constructor", e);
+        }
+    }
+
     /**
      * Puts the given entities in a box in batches using a separate transaction for each batch.
      *
@@ -408,6 +728,63 @@ public class Box<T> {
         }
     }
 
+    /**
+     * Puts the given entities in a box in batches using a separate transaction for each batch like
+     * {@link #putBatched(Collection, int)}, but adapts the batch size so each transaction takes about the given time.
+     * <p>
+     * The duration of each transaction (including its commit) is measured; the size of the next batch is scaled by the
+     * ratio of the target duration to the measured duration (but at most halved or doubled per step). This keeps
+     * transactions short enough to not block other writers for long, while avoiding the overhead of many tiny
+     * transactions.
+     *
+     * @param entities              It is fine to pass null or an empty collection:
+     *                              this case is handled efficiently without overhead.
+     * @param maxTxDurationMillis   Target maximum duration of a single transaction in milliseconds. Must be 1 or greater.
+     * @return Statistics about the put, e.g. the achieved throughput and the last batch size.
+     */
+    public PutStats putAdaptive(@Nullable Collection<T> entities, long maxTxDurationMillis) {
+        if (maxTxDurationMillis < 1) {
+            throw new IllegalArgumentException("Max TX duration must be 1 or greater but was " + maxTxDurationMillis);
+        }
+        if (entities == null || entities.isEmpty()) {
+            return new PutStats(0, 0, 0, 0, 0);
+        }
+
+        long targetNanos = maxTxDurationMillis * 1000000;
+        int batchSize = ADAPTIVE_PUT_START_BATCH_SIZE;
+        long putCount = 0;
+        int txCount = 0;
+        long totalNanos = 0;
+        long maxNanos = 0;
+        Iterator<T> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            long startTime = System.nanoTime();
+            int number = 0;
+            Cursor<T> cursor = getWriter();
+            try {
+                while (number < batchSize && iterator.hasNext()) {
+                    cursor.put(iterator.next());
+                    number++;
+                }
+                commitWriter(cursor);
+            } finally {
+                releaseWriter(cursor);
+            }
+            long txNanos = Math.max(System.nanoTime() - startTime, 1);
+            putCount += number;
+            txCount++;
+            totalNanos += txNanos;
+            if (txNanos > maxNanos) maxNanos = txNanos;
+
+            // Only adapt based on full batches; a partial last batch says little about the right size.
+            if (number == batchSize) {
+                double factor = Math.min(2.0, Math.max(0.5, (double) targetNanos / txNanos));
+                batchSize = (int) Math.max(1, Math.min(ADAPTIVE_PUT_MAX_BATCH_SIZE, (long) (batchSize * factor)));
+            }
+        }
+        return new PutStats(putCount, txCount, totalNanos, maxNanos, batchSize);
+    }
+
     /**
      * Removes (deletes) the Object by its ID.
      * @return true if an entity was actually removed (false if no entity exists with the given ID)
@@ -540,6 +917,131 @@ public class Box<T> {
         }
     }
 
+    /**
+     * Removes (deletes) ALL Objects in batches, using a separate transaction for each batch.
+     * Unlike {@link #removeAll()}, this keeps write transactions short for boxes with many objects,
+     * so other writers are not blocked for long. As a consequence, removing is not atomic.
+     *
+     * @param batchSize Number of objects to remove in one transaction. Must be 1 or greater.
+     * @param listener  Optional; notified of the progress after each batch and may stop further removal.
+     * @return count of removed objects.
+     */
+    public long removeAllBatched(int batchSize, @Nullable BatchRemoveListener listener) {
+        Query<T> query = query().build();
+        try {
+            return query.removeBatched(batchSize, listener);
+        } finally {
+            query.close();
+        }
+    }
+
+    /**
+     * Like {@link #removeAllBatched(int, BatchRemoveListener)}, but runs in a separate thread of the store's
+     * thread pool and returns immediately.
+     * Once removal completes, the given callback is called with the count of removed objects or the error.
+     * The removal is also canceled if the store is closed.
+     *
+     * @return a subscription to cancel the removal; it stops after the batch currently being removed.
+     */
+    public DataSubscription removeAllBatchedAsync(final int batchSize, @Nullable final BatchRemoveListener listener,
+                                                  @Nullable final TxCallback<Long> callback) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be 1 or greater but was " + batchSize);
+        }
+        CancelableTask task = new CancelableTask() {
+            @Override
+            public void run() {
+                long removed = 0;
+                Throwable failure = null;
+                try {
+                    if (!isCanceled()) {
+                        // Call the listener first: it may cancel, which should stop right after this batch
+                        removed = removeAllBatched(batchSize, (removedIds, removedCount) ->
+                                (listener == null || listener.onBatchRemoved(removedIds, removedCount))
+                                        && !isCanceled());
+                    }
+                } catch (Throwable e) {
+                    failure = e;
+                }
+                if (callback != null) {
+                    if (failure == null) {
+                        callback.txFinished(removed, null);
+                    } else {
+                        callback.txFinished(null, failure);
+                    }
+                }
+            }
+        };
+        store.scheduleBackgroundTask(task);
+        return task;
+    }
+
+    /**
+     * Removes all objects whose expiry time, given by the value of the given property, is before the current time.
+     * Removes in batches using a separate transaction for each batch, see
+     * {@link Query#removeBatched(int, BatchRemoveListener)}. Objects with a null expiry time do not expire.
+     *
+     * @param expiresAtProperty A long (time in milliseconds since epoch) or date property; add an index to it
+     *                          to avoid a full scan.
+     * @return count of removed objects.
+     */
+    public long removeExpired(Property<T> expiresAtProperty, int batchSize) {
+        checkExpiryProperty(expiresAtProperty);
+        Query<T> query = query()
+                .notNull(expiresAtProperty)
+                .less(expiresAtProperty, System.currentTimeMillis())
+                .build();
+        try {
+            return query.removeBatched(batchSize, null);
+        } finally {
+            query.close();
+        }
+    }
+
+    /**
+     * Starts removing expired objects (see {@link #removeExpired(Property, int)}) periodically in a separate thread
+     * of the store's thread pool, until the returned subscription is canceled or the store is closed.
+     * Observers are notified of removed objects as usual.
+     *
+     * @param intervalMillis time to wait after all expired objects were removed before checking again.
+     * @param batchSize      Number of objects to remove in one transaction. Must be 1 or greater.
+     * @return a subscription to stop removing expired objects.
+     */
+    public DataSubscription startExpirySweeper(Property<T> expiresAtProperty, long intervalMillis, int batchSize) {
+        checkExpiryProperty(expiresAtProperty);
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("Interval must be 1 or greater but was " + intervalMillis);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be 1 or greater but was " + batchSize);
+        }
+        ExpirySweeper<T> sweeper = new ExpirySweeper<>(this, expiresAtProperty, intervalMillis, batchSize);
+        store.scheduleBackgroundTask(sweeper);
+        return sweeper;
+    }
+
+    private static void checkExpiryProperty(Property<?> property) {
+        Class<?> type = property.type;
+        if (type != long.class && type != Long.class && type != Date.class) {
+            throw new IllegalArgumentException("Expiry property must be a long or date property: " + property);
+        }
+    }
+
+    /** A task running in the background that can be canceled using its {@link DataSubscription}. */
+    abstract static class CancelableTask implements DataSubscription, Runnable {
+        private volatile boolean canceled;
+
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+    }
+
     /**
      * WARNING: this method should generally be avoided as it is not transactional and thus may leave the DB in an
      * inconsistent state. It may be the a last resort option to recover from a full DB.
@@ -591,16 +1093,209 @@ public class Box<T> {
         }
     }
 
-    // Sketching future API extension
-    private boolean isChanged(T entity) {
-        return false;
+    /**
+     * Checks if the given object differs from its stored version; reads the stored object for comparison.
+     * <p>
+     * Property values are compared using equals (contents for byte arrays). ToOne relations are compared by their
+     * target ID, and ToMany relations count as changed if they have pending changes (see
+     * {@link ToMany#hasPendingDbChanges()}).
+     *
+     * @return true if the object was changed, was not put yet or was removed in the meantime.
+     */
+    public boolean isChanged(T entity) {
+        long id = getId(entity);
+        if (id == 0) {
+            return true;
+        }
+        Cursor<T> reader = getReader();
+        try {
+            return isChanged(entity, reader.get(id));
+        } finally {
+            releaseReader(reader);
+        }
+    }
+
+    /**
+     * Puts the given object only if it was changed, see {@link #isChanged(Object)}.
+     *
+     * @return true if the object was put.
+     */
+    public boolean putIfChanged(T entity) {
+        return putIfChanged(Collections.singletonList(entity)) == 1;
+    }
+
+    /**
+     * Puts the given objects using a single transaction, skipping objects that were not changed
+     * (see {@link #isChanged(Object)}). Reading and comparing is typically cheaper than putting,
+     * so this is useful to put large object graphs of which only few objects were changed.
+     *
+     * @return count of objects that were put.
+     */
+    public int putIfChanged(@Nullable Collection<T> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return 0;
+        }
+        Cursor<T> cursor = getWriter();
+        try {
+            int putCount = 0;
+            for (T entity : entities) {
+                long id = getId(entity);
+                if (isChanged(entity, id != 0 ? cursor.get(id) : null)) {
+                    cursor.put(entity);
+                    putCount++;
+                }
+            }
+            commitWriter(cursor);
+            return putCount;
+        } finally {
+            releaseWriter(cursor);
+        }
     }
 
-    // Sketching future API extension
-    private boolean putIfChanged(T entity) {
+    private boolean isChanged(T entity, @Nullable T stored) {
+        if (stored == null) {
+            return true;
+        }
+        for (Field field : getChangeTrackedFields()) {
+            if (!valueEquals(readField(field, entity), readField(field, stored))) {
+                return true;
+            }
+        }
+        for (Field field : relationFields) {
+            // Relations are detected by their value, e.g. a ToMany is often declared as List
+            Object value = readField(field, entity);
+            Object storedValue = readField(field, stored);
+            if (value instanceof ToOne) {
+                ToOne<?> toOne = (ToOne<?>) value;
+                if (toOne.internalRequiresPutTarget() || !(storedValue instanceof ToOne)
+                        || toOne.getTargetId() != ((ToOne<?>) storedValue).getTargetId()) {
+                    return true;
+                }
+            } else if (value instanceof ToMany) {
+                if (((ToMany<?>) value).hasPendingDbChanges()) {
+                    return true;
+                }
+            }
+        }
         return false;
     }
 
+    /** Fields of all properties with a field (not virtual) and all ToOne and ToMany fields. */
+    /** Fields of all non-virtual properties; also initializes {@link #relationFields}. */
+    private List<Field> getChangeTrackedFields() {
+        List<Field> fields = changeTrackedFields;
+        if (fields == null) {
+            fields = new ArrayList<>();
+            Set<Field> propertyFields = new HashSet<>();
+            for (Property<T> property : getEntityInfo().getAllProperties()) {
+                if (!property.isVirtual) {
+                    Field field = getPropertyField(property);
+                    fields.add(field);
+                    propertyFields.add(field);
+                }
+            }
+            List<Field> relations = new ArrayList<>();
+            for (Class<?> clazz = entityClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    Class<?> type = field.getType();
+                    // A ToMany may be declared as List, so check assignability instead of the exact type
+                    if (ToOne.class.isAssignableFrom(type) || List.class.isAssignableFrom(type)) {
+                        Field relationField = ReflectionCache.getInstance().getField(clazz, field.getName());
+                        if (!propertyFields.contains(relationField)) {
+                            relations.add(relationField);
+                        }
+                    }
+                }
+            }
+            relationFields = relations;
+            changeTrackedFields = fields;
+        }
+        return fields;
+    }
+
+    private Field getPropertyField(Property<?> property) {
+        return ReflectionCache.getInstance().getField(entityClass, property.name);
+    }
+
+    @Nullable
+    private static Object readField(Field field, Object entity) {
+        try {
+            return field.get(entity);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void writeField(Field field, Object entity, @Nullable Object value) {
+        try {
+            field.set(entity, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static boolean isIntegerType(Class<?> type) {
+        return type == long.class || type == Long.class || type == int.class || type == Integer.class
+                || type == short.class || type == Short.class || type == byte.class || type == Byte.class;
+    }
+
+    private static boolean isIntegerOrDateType(Class<?> type) {
+        return isIntegerType(type) || type == char.class || type == Character.class || type == Date.class;
+    }
+
+    private static Object toNumberOfType(long value, Class<?> type, Property<?> property) {
+        if (type == long.class || type == Long.class) {
+            return value;
+        } else if (type == int.class || type == Integer.class) {
+            if (value != (int) value) {
+                throw new NumericOverflowException("Value " + value + " does not fit into int property " + property);
+            }
+            return (int) value;
+        } else if (type == short.class || type == Short.class) {
+            if (value != (short) value) {
+                throw new NumericOverflowException("Value " + value + " does not fit into short property " + property);
+            }
+            return (short) value;
+        } else {
+            if (value != (byte) value) {
+                throw new NumericOverflowException("Value " + value + " does not fit into byte property " + property);
+            }
+            return (byte) value;
+        }
+    }
+
+    private T getExisting(Cursor<T> cursor, long id) {
+        T entity = cursor.get(id);
+        if (entity == null) {
+            throw new IllegalArgumentException("No object with ID " + id);
+        }
+        return entity;
+    }
+
+    /** Setting the ID would put the object with a different ID, leaving the original unchanged. */
+    private static void checkNotIdProperty(Property<?> property) {
+        if (property.isId) {
+            throw new IllegalArgumentException("The ID property can not be set: " + property);
+        }
+    }
+
+    private static boolean valueEquals(@Nullable Object value1, @Nullable Object value2) {
+        if (value1 instanceof byte[] && value2 instanceof byte[]) {
+            return Arrays.equals((byte[]) value1, (byte[]) value2);
+        }
+        return value1 == null ? value2 == null : value1.equals(value2);
+    }
+
+    /** Converts a value of a property with {@link #isIntegerOrDateType(Class)} to long. */
+    private static long toLong(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        } else if (value instanceof Character) {
+            return (Character) value;
+        }
+        return ((Number) value).longValue();
+    }
+
     public Class<T> getEntityClass() {
         return entityClass;
     }
@@ -665,6 +1360,83 @@ public class Box<T> {
         return internalGetRelationIds(relationInfo.sourceInfo.getEntityId(), relationInfo.relationId, id, true);
     }
 
+    /**
+     * Adds the given links (edges) to a stand-alone ToMany relation of this box's entity without loading any entities,
+     * for example {@code customerBox.linkRelations(Customer_.orders, customerIds, orderIds)}.
+     * Edge i links the source entity with ID {@code sourceIds[i]} to the target entity with ID {@code targetIds[i]};
+     * adding a link that already exists has no effect.
+     * <p>
+     * Links are applied in batches using a separate transaction for each batch, so a failure may leave some links
+     * applied. Consecutive links of the same source entity are applied together, so sorting by source ID helps.
+     *
+     * @throws IllegalArgumentException if the relation is not a stand-alone ToMany, if the arrays differ in length or
+     *                                  if an ID is not greater than 0.
+     */
+    public void linkRelations(RelationInfo<T, ?> relationInfo, long[] sourceIds, long[] targetIds) {
+        modifyRelationsBatched(relationInfo, sourceIds, targetIds, false);
+    }
+
+    /**
+     * Removes the given links (edges) from a stand-alone ToMany relation of this box's entity without loading any
+     * entities; the counterpart of {@link #linkRelations(RelationInfo, long[], long[])}.
+     * Removing a link that does not exist has no effect.
+     *
+     * @throws IllegalArgumentException if the relation is not a stand-alone ToMany, if the arrays differ in length or
+     *                                  if an ID is not greater than 0.
+     */
+    public void unlinkRelations(RelationInfo<T, ?> relationInfo, long[] sourceIds, long[] targetIds) {
+        modifyRelationsBatched(relationInfo, sourceIds, targetIds, true);
+    }
+
+    private void modifyRelationsBatched(RelationInfo<T, ?> relationInfo, long[] sourceIds, long[] targetIds,
+                                        boolean remove) {
+        if (relationInfo.relationId == 0) {
+            throw new IllegalArgumentException("Not a stand-alone ToMany relation: " + relationInfo);
+        }
+        if (relationInfo.sourceInfo.getEntityClass() != entityClass) {
+            throw new IllegalArgumentException("Relation " + relationInfo + " does not belong to " + entityClass);
+        }
+        if (sourceIds.length != targetIds.length) {
+            throw new IllegalArgumentException("Source and target ID count differ: " + sourceIds.length + " vs. "
+                    + targetIds.length);
+        }
+        for (int i = 0; i < sourceIds.length; i++) {
+            if (sourceIds[i] <= 0 || targetIds[i] <= 0) {
+                throw new IllegalArgumentException("Illegal ID at index " + i + ": " + sourceIds[i] + " -> "
+                        + targetIds[i]);
+            }
+        }
+
+        int relationId = relationInfo.relationId;
+        int length = sourceIds.length;
+        int start = 0;
+        while (start < length) {
+            int end = Math.min(start + RELATION_BATCH_SIZE, length);
+            Cursor<T> cursor = getWriter();
+            try {
+                int groupStart = start;
+                while (groupStart < end) {
+                    long sourceId = sourceIds[groupStart];
+                    int groupEnd = groupStart + 1;
+                    while (groupEnd < end && sourceIds[groupEnd] == sourceId) {
+                        groupEnd++;
+                    }
+                    if (groupEnd - groupStart == 1) {
+                        cursor.modifyRelationsSingle(relationId, sourceId, targetIds[groupStart], remove);
+                    } else {
+                        long[] groupTargetIds = Arrays.copyOfRange(targetIds, groupStart, groupEnd);
+                        cursor.modifyRelations(relationId, sourceId, groupTargetIds, remove);
+                    }
+                    groupStart = groupEnd;
+                }
+                commitWriter(cursor);
+            } finally {
+                releaseWriter(cursor);
+            }
+            start = end;
+        }
+    }
+
     @Internal
     public <RESULT> RESULT internalCallWithReaderHandle(CallWithHandle<RESULT> task) {
         Cursor<T> reader = getReader();
@@ -49,6 +49,7 @@ import io.objectbox.internal.NativeLibraryLoader;
 import io.objectbox.internal.ObjectBoxThreadPool;
 import io.objectbox.reactive.DataObserver;
 import io.objectbox.reactive.DataPublisher;
+import io.objectbox.reactive.DataSubscription;
 import io.objectbox.reactive.SubscriptionBuilder;
 
 /**
@@ -184,6 +185,9 @@ public class BoxStore implements Closeable {
     private final Map<Class<?>, Box<?>> boxes = new ConcurrentHashMap<>();
     private final Set<Transaction> transactions = Collections.newSetFromMap(new WeakHashMap<>());
     private final ExecutorService threadPool = new ObjectBoxThreadPool(this);
+    /** Long running tasks on the thread pool, canceled and waited for when closing. */
+    private final Set<DataSubscription> backgroundTasks = new HashSet<>();
+    private final ThreadLocal<DataSubscription> runningBackgroundTask = new ThreadLocal<>();
     private final ObjectClassPublisher objectClassPublisher;
     final boolean debugTxRead;
     final boolean debugTxWrite;
@@ -440,6 +444,7 @@ public class BoxStore implements Closeable {
      * Closes the BoxStore and frees associated resources.
      * This method is useful for unit tests;
      * most real applications should open a BoxStore once and keep it open until the app dies.
+     * Background tasks, like expiry sweepers, are canceled and waited for before the native store is closed.
      * <p>
      * WARNING:
      * This is a somewhat delicate thing to do if you have threads running that may potentially still use the BoxStore.
@@ -452,6 +457,7 @@ public class BoxStore implements Closeable {
             if (!closed) {
                 // Closeable recommendation: mark as closed before any code that might throw.
                 closed = true;
+                cancelBackgroundTasks();
                 List<Transaction> transactionsToClose;
                 synchronized (transactions) {
                     transactionsToClose = new ArrayList<>(this.transactions);
@@ -986,6 +992,61 @@ public class BoxStore implements Closeable {
         return new SubscriptionBuilder<>((DataPublisher) objectClassPublisher, forClass, threadPool);
     }
 
+    /**
+     * Runs the given long running task on the thread pool; it is canceled when this store is closed.
+     * Closing waits for the task to return, so it must check {@link DataSubscription#isCanceled()} regularly.
+     */
+    <T extends DataSubscription & Runnable> void scheduleBackgroundTask(T task) {
+        synchronized (backgroundTasks) {
+            if (closed) {
+                throw new IllegalStateException("Store is closed");
+            }
+            backgroundTasks.add(task);
+        }
+        threadPool.execute(() -> {
+            runningBackgroundTask.set(task);
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // Expected if canceled (e.g. by closing the store) while running; otherwise nobody would see it
+                if (!task.isCanceled()) {
+                    System.err.println("Background task " + task + " failed:");
+                    e.printStackTrace();
+                }
+            } finally {
+                runningBackgroundTask.remove();
+                synchronized (backgroundTasks) {
+                    backgroundTasks.remove(task);
+                    backgroundTasks.notifyAll();
+                }
+            }
+        });
+    }
+
+    /**
+     * Cancels all background tasks and waits until they returned, so none uses the native store anymore.
+     * Does not wait for a task calling this (e.g. closing the store from a listener).
+     */
+    private void cancelBackgroundTasks() {
+        DataSubscription ownTask = runningBackgroundTask.get();
+        boolean interrupted = false;
+        synchronized (backgroundTasks) {
+            for (DataSubscription task : backgroundTasks) {
+                task.cancel();
+            }
+            while (backgroundTasks.size() > (backgroundTasks.contains(ownTask) ? 1 : 0)) {
+                try {
+                    backgroundTasks.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Internal
     public Future<?> internalScheduleThread(Runnable runnable) {
         return threadPool.submit(runnable);
@@ -236,8 +236,9 @@ public abstract class Cursor<T> implements Closeable {
     }
 
     /**
+     * Looks up the key of an object using the index of the given string property.
+     *
      * @return key or 0 if not found
-     * @deprecated TODO only used in tests, remove in the future
      */
     long lookupKeyUsingIndex(int propertyId, String value) {
         return nativeLookupKeyUsingIndex(cursor, propertyId, value);
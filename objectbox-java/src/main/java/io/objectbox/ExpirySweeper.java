@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2019 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox;
+
+import io.objectbox.query.Query;
+
+/**
+ * Periodically removes objects whose expiry time is in the past; see
+ * {@link Box#startExpirySweeper(Property, long, int)}.
+ */
+class ExpirySweeper<T> extends Box.CancelableTask {
+
+    private static final String EXPIRES_AT_ALIAS = "expiresAt";
+
+    private final Box<T> box;
+    private final Property<T> expiresAtProperty;
+    private final long intervalMillis;
+    private final int batchSize;
+
+    ExpirySweeper(Box<T> box, Property<T> expiresAtProperty, long intervalMillis, int batchSize) {
+        this.box = box;
+        this.expiresAtProperty = expiresAtProperty;
+        this.intervalMillis = intervalMillis;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public synchronized void cancel() {
+        super.cancel();
+        notifyAll(); // Wake up a waiting sweeper to end it
+    }
+
+    @Override
+    public String toString() {
+        return "ExpirySweeper{" + expiresAtProperty + "}";
+    }
+
+    @Override
+    public void run() {
+        BoxStore store = box.getStore();
+        // Two conditions on the same property, so the parameter is set using an alias
+        Query<T> query = box.query().notNull(expiresAtProperty)
+                .less(expiresAtProperty, 0).parameterAlias(EXPIRES_AT_ALIAS)
+                .build();
+        try {
+            while (!isCanceled() && !store.isClosed()) {
+                query.setParameter(EXPIRES_AT_ALIAS, System.currentTimeMillis());
+                query.removeBatched(batchSize, (removedIds, removedCount) -> !isCanceled());
+                synchronized (this) {
+                    if (!isCanceled()) {
+                        wait(intervalMillis);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            query.close();
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2019 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox;
+
+/**
+ * Statistics of a put using multiple transactions, see {@link Box#putAdaptive(java.util.Collection, long)}.
+ */
+@SuppressWarnings("WeakerAccess")
+public class PutStats {
+    private final long putCount;
+    private final int transactionCount;
+    private final long durationNanos;
+    private final long maxTransactionNanos;
+    private final int lastBatchSize;
+
+    PutStats(long putCount, int transactionCount, long durationNanos, long maxTransactionNanos, int lastBatchSize) {
+        this.putCount = putCount;
+        this.transactionCount = transactionCount;
+        this.durationNanos = durationNanos;
+        this.maxTransactionNanos = maxTransactionNanos;
+        this.lastBatchSize = lastBatchSize;
+    }
+
+    /** Number of objects put. */
+    public long getPutCount() {
+        return putCount;
+    }
+
+    /** Number of transactions used. */
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    /** Total duration of all transactions in milliseconds. */
+    public long getDurationMillis() {
+        return durationNanos / 1000000;
+    }
+
+    /** Duration of the longest transaction in milliseconds. */
+    public long getMaxTransactionMillis() {
+        return maxTransactionNanos / 1000000;
+    }
+
+    /** The batch size used for the last transaction; a good start value for similar puts. */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    /** Achieved throughput in objects put per second; 0 if nothing was put. */
+    public double getObjectsPerSecond() {
+        return durationNanos > 0 ? putCount * 1e9 / durationNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "PutStats{" + putCount + " objects in " + transactionCount + " TXs, " + getDurationMillis() + " ms}";
+    }
+}
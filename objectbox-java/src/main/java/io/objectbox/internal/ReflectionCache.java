@@ -43,15 +43,26 @@ public class ReflectionCache {
         }
         Field field = fieldsForClass.get(name);
         if (field == null) {
+            field = findField(clazz, name);
+            field.setAccessible(true);
+            fieldsForClass.put(name, field);
+        }
+        return field;
+    }
+
+    /** Finds the field declared by the given class or one of its super classes (e.g. a base entity). */
+    private static Field findField(Class<?> clazz, String name) {
+        NoSuchFieldException notFound = null;
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
             try {
-                field = clazz.getDeclaredField(name);
-                field.setAccessible(true);
+                return current.getDeclaredField(name);
             } catch (NoSuchFieldException e) {
-                throw new IllegalStateException(e);
+                if (notFound == null) {
+                    notFound = e;
+                }
             }
-            fieldsForClass.put(name, field);
         }
-        return field;
+        throw new IllegalStateException(notFound != null ? notFound : new NoSuchFieldException(name));
     }
 
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2020 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox.query;
+
+/**
+ * Notified after each batch of objects removed by {@link Query#removeBatched(int, BatchRemoveListener)}.
+ */
+public interface BatchRemoveListener {
+    /**
+     * Called after the transaction removing a batch was committed.
+     *
+     * @param removedIds   IDs of the objects removed in this batch.
+     * @param removedCount count of objects removed so far, including this batch.
+     * @return true to continue with the next batch, false to stop removing.
+     */
+    boolean onBatchRemoved(long[] removedIds, long removedCount);
+}
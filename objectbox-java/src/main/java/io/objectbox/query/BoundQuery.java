@@ -0,0 +1,336 @@
+/*
+ * Copyright 2020 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox.query;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.objectbox.Property;
+
+/**
+ * A set of parameter values bound to a {@link Query} for a single call; create using {@link Query#bind()}.
+ * <p>
+ * Unlike the setParameter methods of {@link Query}, parameter values given to this class are only kept on the Java
+ * side. They are applied to the query together with the execution of a find/count method as one atomic step.
+ * Thus, a single Query object may be shared by all threads, each using its own parameter values:
+ * <pre>{@code
+ * List<Order> orders = query.bind().param(Order_.customerId, customerId).find();
+ * }</pre>
+ * Note: bound calls hold the lock of the Query while executing, so bound calls of all threads sharing a Query run
+ * one at a time. If many threads run the same query concurrently, a Query per thread avoids this contention.
+ * Note: a BoundQuery itself is not thread-safe; it is a lightweight object meant to be created for each call.
+ * Do not mix with setParameter calls on the same Query from other threads.
+ *
+ * @param <T> The entity class the query will return results for.
+ */
+@SuppressWarnings({"WeakerAccess", "UnusedReturnValue"})
+public class BoundQuery<T> {
+
+    /** Applies a single parameter value to the query. */
+    interface Binding {
+        void apply(Query<?> query);
+    }
+
+    private final Query<T> query;
+    private final List<Binding> bindings = new ArrayList<>();
+
+    BoundQuery(Query<T> query) {
+        this.query = query;
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     */
+    public BoundQuery<T> param(Property<?> property, String value) {
+        bindings.add(q -> q.setParameter(property, value));
+        return this;
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @param alias as defined using {@link QueryBuilder#parameterAlias(String)}.
+     */
+    public BoundQuery<T> param(String alias, String value) {
+        bindings.add(q -> q.setParameter(alias, value));
+        return this;
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     */
+    public BoundQuery<T> param(Property<?> property, long value) {
+        bindings.add(q -> q.setParameter(property, value));
+        return this;
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @param alias as defined using {@link QueryBuilder#parameterAlias(String)}.
+     */
+    public BoundQuery<T> param(String alias, long value) {
+        bindings.add(q -> q.setParameter(alias, value));
+        return this;
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     */
+    public BoundQuery<T> param(Property<?> property, double value) {
+        bindings.add(q -> q.setParameter(property, value));
+        return this;
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @param alias as defined using {@link QueryBuilder#parameterAlias(String)}.
+     */
+    public BoundQuery<T> param(String alias, double value) {
+        bindings.add(q -> q.setParameter(alias, value));
+        return this;
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @throws NullPointerException if given date is null
+     */
+    public BoundQuery<T> param(Property<?> property, Date value) {
+        return param(property, value.getTime());
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @param alias as defined using {@link QueryBuilder#parameterAlias(String)}.
+     * @throws NullPointerException if given date is null
+     */
+    public BoundQuery<T> param(String alias, Date value) {
+        return param(alias, value.getTime());
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     */
+    public BoundQuery<T> param(Property<?> property, boolean value) {
+        return param(property, value ? 1 : 0);
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @param alias as defined using {@link QueryBuilder#parameterAlias(String)}.
+     */
+    public BoundQuery<T> param(String alias, boolean value) {
+        return param(alias, value ? 1 : 0);
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     */
+    public BoundQuery<T> param(Property<?> property, byte[] value) {
+        bindings.add(q -> q.setParameter(property, value));
+        return this;
+    }
+
+    /**
+     * Binds a new value to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @param alias as defined using {@link QueryBuilder#parameterAlias(String)}.
+     */
+    public BoundQuery<T> param(String alias, byte[] value) {
+        bindings.add(q -> q.setParameter(alias, value));
+        return this;
+    }
+
+    /**
+     * Binds new values to a parameter previously given to the {@link QueryBuilder}.
+     */
+    public BoundQuery<T> params(Property<?> property, long value1, long value2) {
+        bindings.add(q -> q.setParameters(property, value1, value2));
+        return this;
+    }
+
+    /**
+     * Binds new values to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @param alias as defined using {@link QueryBuilder#parameterAlias(String)}.
+     */
+    public BoundQuery<T> params(String alias, long value1, long value2) {
+        bindings.add(q -> q.setParameters(alias, value1, value2));
+        return this;
+    }
+
+    /**
+     * Binds new values to a parameter previously given to the {@link QueryBuilder}.
+     */
+    public BoundQuery<T> params(Property<?> property, double value1, double value2) {
+        bindings.add(q -> q.setParameters(property, value1, value2));
+        return this;
+    }
+
+    /**
+     * Binds new values to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @param alias as defined using {@link QueryBuilder#parameterAlias(String)}.
+     */
+    public BoundQuery<T> params(String alias, double value1, double value2) {
+        bindings.add(q -> q.setParameters(alias, value1, value2));
+        return this;
+    }
+
+    /**
+     * Binds new values to a parameter previously given to the {@link QueryBuilder}.
+     */
+    public BoundQuery<T> params(Property<?> property, int[] values) {
+        bindings.add(q -> q.setParameters(property, values));
+        return this;
+    }
+
+    /**
+     * Binds new values to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @param alias as defined using {@link QueryBuilder#parameterAlias(String)}.
+     */
+    public BoundQuery<T> params(String alias, int[] values) {
+        bindings.add(q -> q.setParameters(alias, values));
+        return this;
+    }
+
+    /**
+     * Binds new values to a parameter previously given to the {@link QueryBuilder}.
+     */
+    public BoundQuery<T> params(Property<?> property, long[] values) {
+        bindings.add(q -> q.setParameters(property, values));
+        return this;
+    }
+
+    /**
+     * Binds new values to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @param alias as defined using {@link QueryBuilder#parameterAlias(String)}.
+     */
+    public BoundQuery<T> params(String alias, long[] values) {
+        bindings.add(q -> q.setParameters(alias, values));
+        return this;
+    }
+
+    /**
+     * Binds new values to a parameter previously given to the {@link QueryBuilder}.
+     */
+    public BoundQuery<T> params(Property<?> property, String[] values) {
+        bindings.add(q -> q.setParameters(property, values));
+        return this;
+    }
+
+    /**
+     * Binds new values to a parameter previously given to the {@link QueryBuilder}.
+     *
+     * @param alias as defined using {@link QueryBuilder#parameterAlias(String)}.
+     */
+    public BoundQuery<T> params(String alias, String[] values) {
+        bindings.add(q -> q.setParameters(alias, values));
+        return this;
+    }
+
+    /**
+     * Like {@link Query#findFirst()} using the bound parameter values.
+     */
+    @Nullable
+    public T findFirst() {
+        return query.callWithBindings(bindings, query::findFirst);
+    }
+
+    /**
+     * Like {@link Query#findUnique()} using the bound parameter values.
+     *
+     * @throws io.objectbox.exception.NonUniqueResultException if result was not unique
+     */
+    @Nullable
+    public T findUnique() {
+        return query.callWithBindings(bindings, query::findUnique);
+    }
+
+    /**
+     * Like {@link Query#find()} using the bound parameter values.
+     */
+    @Nonnull
+    public List<T> find() {
+        return query.callWithBindings(bindings, () -> query.find());
+    }
+
+    /**
+     * Like {@link Query#find(long, long)} using the bound parameter values.
+     */
+    @Nonnull
+    public List<T> find(final long offset, final long limit) {
+        return query.callWithBindings(bindings, () -> query.find(offset, limit));
+    }
+
+    /**
+     * Like {@link Query#findIds()} using the bound parameter values.
+     */
+    @Nonnull
+    public long[] findIds() {
+        return query.callWithBindings(bindings, () -> query.findIds());
+    }
+
+    /**
+     * Like {@link Query#findIds(long, long)} using the bound parameter values.
+     */
+    @Nonnull
+    public long[] findIds(final long offset, final long limit) {
+        return query.callWithBindings(bindings, () -> query.findIds(offset, limit));
+    }
+
+    /**
+     * Like {@link Query#count()} using the bound parameter values.
+     */
+    public long count() {
+        return query.callWithBindings(bindings, query::count);
+    }
+
+    /**
+     * Like {@link Query#count(long)} using the bound parameter values.
+     */
+    public long count(final long maxCount) {
+        return query.callWithBindings(bindings, () -> query.count(maxCount));
+    }
+
+    /**
+     * Like {@link Query#exists()} using the bound parameter values.
+     */
+    public boolean exists() {
+        return query.callWithBindings(bindings, query::exists);
+    }
+
+    /**
+     * Like {@link Query#remove()} using the bound parameter values.
+     *
+     * @return count of removed Objects
+     */
+    public long remove() {
+        return query.removeWithBindings(bindings);
+    }
+
+}
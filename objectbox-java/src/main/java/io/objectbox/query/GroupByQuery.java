@@ -0,0 +1,297 @@
+/*
+ * Copyright 2020 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import io.objectbox.Property;
+import io.objectbox.exception.NumericOverflowException;
+import io.objectbox.query.QueryColumns.Column;
+import io.objectbox.query.QueryColumns.Kind;
+
+/**
+ * Computes several aggregates grouped by the values of a key property; create using
+ * {@link Query#groupBy(Property)}.
+ * <p>
+ * Example: "sum(amount), count, max(date) grouped by customerId"
+ * <pre>{@code
+ * GroupByResult result = query.groupBy(Order_.customerId)
+ *         .sum(Order_.amount).count().max(Order_.date)
+ *         .find();
+ * long[] customerIds = result.getKeys();
+ * long[] sums = result.getLongs(0);
+ * }</pre>
+ * Each property is read for all objects matching the query without creating any objects (twice for nullable
+ * properties, to detect null values); all aggregates are then computed in a single pass.
+ * <p>
+ * Notes: objects with a null key are not included in any group. Null values are ignored by all aggregates except
+ * {@link #count()}. A filter set with {@link QueryBuilder#filter(QueryFilter)} will be silently ignored.
+ *
+ * @param <T> The entity class of the query.
+ */
+@SuppressWarnings("WeakerAccess")
+public class GroupByQuery<T> {
+
+    enum Function {
+        COUNT, SUM, MIN, MAX, AVG
+    }
+
+    static final class Aggregate {
+        final Function function;
+        @Nullable final Property<?> property;
+
+        Aggregate(Function function, @Nullable Property<?> property) {
+            this.function = function;
+            this.property = property;
+        }
+    }
+
+    private final Query<T> query;
+    private final Property<T> keyProperty;
+    private final List<Aggregate> aggregates = new ArrayList<>();
+
+    GroupByQuery(Query<T> query, Property<T> keyProperty) {
+        if (QueryColumns.kindOf(keyProperty) == Kind.DOUBLE) {
+            throw new IllegalArgumentException("Floating point properties are not supported as key: " + keyProperty);
+        }
+        this.query = query;
+        this.keyProperty = keyProperty;
+    }
+
+    /** Adds the count of objects of each group as the next aggregate (long values). */
+    public GroupByQuery<T> count() {
+        aggregates.add(new Aggregate(Function.COUNT, null));
+        return this;
+    }
+
+    /**
+     * Adds the sum of the values of the given property of each group as the next aggregate
+     * (long values for integer properties, double values for floating point properties).
+     *
+     * @throws NumericOverflowException on {@link #find()} if a sum of integers exceeds the long value range.
+     */
+    public GroupByQuery<T> sum(Property<T> property) {
+        return addNumeric(Function.SUM, property);
+    }
+
+    /**
+     * Adds the minimum value of the given property of each group as the next aggregate
+     * (long values for integer properties, double values for floating point properties).
+     * Groups without non-null values get Long.MAX_VALUE or NaN.
+     */
+    public GroupByQuery<T> min(Property<T> property) {
+        return addNumeric(Function.MIN, property);
+    }
+
+    /**
+     * Adds the maximum value of the given property of each group as the next aggregate
+     * (long values for integer properties, double values for floating point properties).
+     * Groups without non-null values get Long.MIN_VALUE or NaN.
+     */
+    public GroupByQuery<T> max(Property<T> property) {
+        return addNumeric(Function.MAX, property);
+    }
+
+    /**
+     * Adds the average of the values of the given property of each group as the next aggregate (double values).
+     * Groups without non-null values get NaN.
+     */
+    public GroupByQuery<T> avg(Property<T> property) {
+        return addNumeric(Function.AVG, property);
+    }
+
+    private GroupByQuery<T> addNumeric(Function function, Property<T> property) {
+        if (QueryColumns.kindOf(property) == Kind.STRING) {
+            throw new IllegalArgumentException("Not a number type: " + property);
+        }
+        aggregates.add(new Aggregate(function, property));
+        return this;
+    }
+
+    /**
+     * Runs the query and computes all aggregates for each group.
+     */
+    public GroupByResult find() {
+        if (aggregates.isEmpty()) {
+            throw new IllegalStateException("No aggregates defined, e.g. call count() or sum() first");
+        }
+        return query.callInReadTx(() -> {
+            Column keys = QueryColumns.read(query, keyProperty, true);
+            Map<Property<?>, Column> columns = new HashMap<>();
+            for (Aggregate aggregate : aggregates) {
+                if (aggregate.property != null && !columns.containsKey(aggregate.property)) {
+                    columns.put(aggregate.property, QueryColumns.read(query, aggregate.property, true));
+                }
+            }
+            return compute(keys, columns);
+        });
+    }
+
+    private GroupByResult compute(Column keys, Map<Property<?>, Column> columns) {
+        int rowCount = keys.size();
+        int[] groupOfRow = new int[rowCount];
+        int groupCount = 0;
+        long[] longKeys = null;
+        String[] stringKeys = null;
+        if (keys.kind == Kind.STRING) {
+            Map<String, Integer> groupByKey = new HashMap<>();
+            List<String> keyList = new ArrayList<>();
+            //noinspection ConstantConditions Set for kind STRING.
+            for (int row = 0; row < rowCount; row++) {
+                String key = keys.strings[row];
+                if (keys.isNull(row)) {
+                    groupOfRow[row] = -1;
+                    continue;
+                }
+                Integer group = groupByKey.get(key);
+                if (group == null) {
+                    group = groupCount++;
+                    groupByKey.put(key, group);
+                    keyList.add(key);
+                }
+                groupOfRow[row] = group;
+            }
+            stringKeys = keyList.toArray(new String[0]);
+        } else {
+            Map<Long, Integer> groupByKey = new HashMap<>();
+            long[] keyBuffer = new long[16];
+            //noinspection ConstantConditions Set for kind LONG.
+            for (int row = 0; row < rowCount; row++) {
+                if (keys.isNull(row)) {
+                    groupOfRow[row] = -1;
+                    continue;
+                }
+                long key = keys.longs[row];
+                Integer group = groupByKey.get(key);
+                if (group == null) {
+                    group = groupCount++;
+                    groupByKey.put(key, group);
+                    if (group == keyBuffer.length) {
+                        keyBuffer = Arrays.copyOf(keyBuffer, keyBuffer.length * 2);
+                    }
+                    keyBuffer[group] = key;
+                }
+                groupOfRow[row] = group;
+            }
+            longKeys = Arrays.copyOf(keyBuffer, groupCount);
+        }
+
+        Object[] values = new Object[aggregates.size()];
+        for (int i = 0; i < values.length; i++) {
+            Aggregate aggregate = aggregates.get(i);
+            Column column = aggregate.property != null ? columns.get(aggregate.property) : null;
+            values[i] = compute(aggregate, column, groupOfRow, groupCount);
+        }
+        return new GroupByResult(longKeys, stringKeys, values);
+    }
+
+    private Object compute(Aggregate aggregate, @Nullable Column column, int[] groupOfRow, int groupCount) {
+        int rowCount = groupOfRow.length;
+        if (column == null) {
+            long[] counts = new long[groupCount];
+            for (int row = 0; row < rowCount; row++) {
+                int group = groupOfRow[row];
+                if (group >= 0) counts[group]++;
+            }
+            return counts;
+        }
+
+        long[] counts = new long[groupCount];
+        if (column.kind == Kind.DOUBLE) {
+            double[] values = column.doubles;
+            double[] result = new double[groupCount];
+            if (aggregate.function != Function.SUM && aggregate.function != Function.AVG) {
+                Arrays.fill(result, Double.NaN);
+            }
+            //noinspection ConstantConditions Set for kind DOUBLE.
+            for (int row = 0; row < rowCount; row++) {
+                int group = groupOfRow[row];
+                if (group < 0 || column.isNull(row)) continue;
+                double value = values[row];
+                boolean first = counts[group]++ == 0;
+                switch (aggregate.function) {
+                    case MIN:
+                        if (first || value < result[group]) result[group] = value;
+                        break;
+                    case MAX:
+                        if (first || value > result[group]) result[group] = value;
+                        break;
+                    default:
+                        result[group] += value;
+                }
+            }
+            if (aggregate.function == Function.AVG) {
+                for (int group = 0; group < groupCount; group++) {
+                    result[group] = counts[group] > 0 ? result[group] / counts[group] : Double.NaN;
+                }
+            }
+            return result;
+        }
+
+        long[] values = column.longs;
+        if (aggregate.function == Function.AVG) {
+            double[] result = new double[groupCount];
+            //noinspection ConstantConditions Set for kind LONG.
+            for (int row = 0; row < rowCount; row++) {
+                int group = groupOfRow[row];
+                if (group < 0 || column.isNull(row)) continue;
+                counts[group]++;
+                result[group] += values[row];
+            }
+            for (int group = 0; group < groupCount; group++) {
+                result[group] = counts[group] > 0 ? result[group] / counts[group] : Double.NaN;
+            }
+            return result;
+        }
+
+        long[] result = new long[groupCount];
+        if (aggregate.function == Function.MIN) {
+            Arrays.fill(result, Long.MAX_VALUE);
+        } else if (aggregate.function == Function.MAX) {
+            Arrays.fill(result, Long.MIN_VALUE);
+        }
+        //noinspection ConstantConditions Set for kind LONG.
+        for (int row = 0; row < rowCount; row++) {
+            int group = groupOfRow[row];
+            if (group < 0 || column.isNull(row)) continue;
+            long value = values[row];
+            switch (aggregate.function) {
+                case MIN:
+                    if (value < result[group]) result[group] = value;
+                    break;
+                case MAX:
+                    if (value > result[group]) result[group] = value;
+                    break;
+                default:
+                    long sum = result[group] + value;
+                    // Overflow if both operands have the sign opposite of the result
+                    if (((result[group] ^ sum) & (value ^ sum)) < 0) {
+                        throw new NumericOverflowException("Numeric overflow while summing up " + aggregate.property);
+                    }
+                    result[group] = sum;
+            }
+        }
+        return result;
+    }
+
+}
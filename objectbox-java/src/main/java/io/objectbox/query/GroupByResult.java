@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox.query;
+
+import javax.annotation.Nullable;
+
+/**
+ * The result of a {@link GroupByQuery}: one key per group and one value array per aggregate.
+ * The value at index i of each array belongs to the group with the key at index i.
+ * Groups are in the order their keys were first encountered.
+ */
+@SuppressWarnings("WeakerAccess")
+public class GroupByResult {
+    @Nullable private final long[] keys;
+    @Nullable private final String[] stringKeys;
+    private final Object[] values;
+
+    GroupByResult(@Nullable long[] keys, @Nullable String[] stringKeys, Object[] values) {
+        this.keys = keys;
+        this.stringKeys = stringKeys;
+        this.values = values;
+    }
+
+    /** The number of groups. */
+    public int size() {
+        //noinspection ConstantConditions One of the key arrays is always set.
+        return keys != null ? keys.length : stringKeys.length;
+    }
+
+    /**
+     * Returns the keys of the groups if the key property is an integer or date property.
+     *
+     * @throws IllegalStateException if the key property is a string property, use {@link #getStringKeys()}.
+     */
+    public long[] getKeys() {
+        if (keys == null) {
+            throw new IllegalStateException("Keys are strings, use getStringKeys()");
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the keys of the groups if the key property is a string property.
+     *
+     * @throws IllegalStateException if the key property is not a string property, use {@link #getKeys()}.
+     */
+    public String[] getStringKeys() {
+        if (stringKeys == null) {
+            throw new IllegalStateException("Keys are not strings, use getKeys()");
+        }
+        return stringKeys;
+    }
+
+    /** True if the values of the aggregate at the given index are longs (see {@link #getLongs(int)}). */
+    public boolean isLong(int aggregateIndex) {
+        return values[aggregateIndex] instanceof long[];
+    }
+
+    /**
+     * Returns the values of the aggregate at the given index (in the order the aggregates were added).
+     *
+     * @throws IllegalStateException if the values are doubles, use {@link #getDoubles(int)}.
+     */
+    public long[] getLongs(int aggregateIndex) {
+        Object value = values[aggregateIndex];
+        if (!(value instanceof long[])) {
+            throw new IllegalStateException("Aggregate " + aggregateIndex + " has double values");
+        }
+        return (long[]) value;
+    }
+
+    /**
+     * Returns the values of the aggregate at the given index (in the order the aggregates were added).
+     * Long values are converted to doubles.
+     */
+    public double[] getDoubles(int aggregateIndex) {
+        Object value = values[aggregateIndex];
+        if (value instanceof double[]) {
+            return (double[]) value;
+        }
+        long[] longs = (long[]) value;
+        double[] doubles = new double[longs.length];
+        for (int i = 0; i < longs.length; i++) {
+            doubles[i] = longs[i];
+        }
+        return doubles;
+    }
+}
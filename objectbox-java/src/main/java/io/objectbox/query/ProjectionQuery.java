@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.objectbox.Property;
+import io.objectbox.query.QueryColumns.Column;
+
+/**
+ * Returns the values of several properties of all objects matching a query as columns;
+ * create using {@link Query#project(Property[])}.
+ * <p>
+ * Example: "timestamp and value of all measurements"
+ * <pre>{@code
+ * ProjectionResult result = query.project(Measurement_.timestamp, Measurement_.value).find();
+ * long[] timestamps = result.getLongs(0);
+ * double[] values = result.getDoubles(1);
+ * }</pre>
+ * All columns are read inside a single read transaction without creating any objects, and are aligned:
+ * the values at row index i of each column belong to the same object.
+ * <p>
+ * Note: rows are not sorted by any order defined for the query, see {@link #find(long, long)}.
+ * A filter set with {@link QueryBuilder#filter(QueryFilter)} will be silently ignored.
+ *
+ * @param <T> The entity class of the query.
+ */
+@SuppressWarnings("WeakerAccess")
+public class ProjectionQuery<T> {
+
+    private final Query<T> query;
+    private final List<Property<T>> properties;
+    private boolean distinct;
+    private boolean withNulls;
+
+    ProjectionQuery(Query<T> query, List<Property<T>> properties) {
+        if (properties.isEmpty()) {
+            throw new IllegalArgumentException("At least one property is required");
+        }
+        for (Property<T> property : properties) {
+            QueryColumns.kindOf(property); // Throws if type is not supported
+        }
+        this.query = query;
+        this.properties = new ArrayList<>(properties);
+    }
+
+    /**
+     * Also detect null values of properties with a type that can be null (e.g. Long, String), so they can be told
+     * apart using {@link ProjectionResult#isNull(int, int)}. This costs a second read of each such property.
+     * Without this, null values are returned as 0 (or an empty string) and are not distinguished from those.
+     */
+    public ProjectionQuery<T> withNulls() {
+        withNulls = true;
+        return this;
+    }
+
+    /**
+     * Only return distinct rows, i.e. skip rows with values equal to those of a row already returned
+     * (null values are treated as equal to each other, and without {@link #withNulls()} as equal to 0).
+     */
+    public ProjectionQuery<T> distinct() {
+        distinct = true;
+        return this;
+    }
+
+    /** Returns the values of all matching objects. */
+    public ProjectionResult find() {
+        return find(0, 0);
+    }
+
+    /**
+     * Returns the values of matching objects, skipping the first offset rows and returning at most limit rows.
+     * <p>
+     * Note: rows are in the order objects are stored (by ID), not in any order defined for the query (e.g. using
+     * {@link QueryBuilder#order(Property)}), so to page through ordered results use {@link Query#find(long, long)}.
+     *
+     * @param limit the maximum number of rows, 0 to return all remaining rows.
+     */
+    public ProjectionResult find(final long offset, final long limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        return query.callInReadTx(() -> {
+            Column[] columns = new Column[properties.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = QueryColumns.read(query, properties.get(i), withNulls);
+            }
+            int[] rows = selectRows(columns, offset, limit);
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = slice(columns[i], rows);
+            }
+            return new ProjectionResult(columns);
+        });
+    }
+
+    private int[] selectRows(Column[] columns, long offset, long limit) {
+        int rowCount = columns[0].size();
+        int[] rows = new int[rowCount];
+        int count = 0;
+        Set<List<Object>> seen = distinct ? new HashSet<>() : null;
+        long skipped = 0;
+        for (int row = 0; row < rowCount; row++) {
+            //noinspection ConstantConditions Set if distinct.
+            if (distinct && !seen.add(rowValues(columns, row))) continue;
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            rows[count++] = row;
+            if (limit != 0 && count == limit) break;
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    private static List<Object> rowValues(Column[] columns, int row) {
+        List<Object> values = new ArrayList<>(columns.length);
+        for (Column column : columns) {
+            if (column.isNull(row)) {
+                values.add(null);
+            } else if (column.longs != null) {
+                values.add(column.longs[row]);
+            } else if (column.doubles != null) {
+                values.add(column.doubles[row]);
+            } else {
+                //noinspection ConstantConditions One of the arrays is always set.
+                values.add(column.strings[row]);
+            }
+        }
+        return values;
+    }
+
+    private static Column slice(Column column, int[] rows) {
+        if (rows.length == column.size()) {
+            return column; // Rows are in ascending order, so all rows were selected.
+        }
+        long[] longs = column.longs != null ? new long[rows.length] : null;
+        double[] doubles = column.doubles != null ? new double[rows.length] : null;
+        String[] strings = column.strings != null ? new String[rows.length] : null;
+        boolean[] nulls = column.nulls != null ? new boolean[rows.length] : null;
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            if (longs != null) longs[i] = column.longs[row];
+            if (doubles != null) doubles[i] = column.doubles[row];
+            if (strings != null) strings[i] = column.strings[row];
+            if (nulls != null) nulls[i] = column.nulls[row];
+        }
+        return new Column(column.kind, longs, doubles, strings, nulls);
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox.query;
+
+import javax.annotation.Nullable;
+
+import io.objectbox.query.QueryColumns.Column;
+import io.objectbox.query.QueryColumns.Kind;
+
+/**
+ * The result of a {@link ProjectionQuery}: one value array per property, in the order the properties were given.
+ * The values at row index i of each array belong to the same object.
+ * <p>
+ * Null values are returned as 0 (or an empty string). If null values were detected using
+ * {@link ProjectionQuery#withNulls()}, null strings are returned as null and {@link #isNull(int, int)} tells them
+ * apart.
+ */
+@SuppressWarnings("WeakerAccess")
+public class ProjectionResult {
+    private final Column[] columns;
+
+    ProjectionResult(Column[] columns) {
+        this.columns = columns;
+    }
+
+    /** The number of rows. */
+    public int size() {
+        return columns[0].size();
+    }
+
+    /**
+     * Returns the values of the integer or date property at the given index.
+     *
+     * @throws IllegalStateException if the property is not an integer or date property.
+     */
+    public long[] getLongs(int propertyIndex) {
+        return checkKind(propertyIndex, Kind.LONG).longs;
+    }
+
+    /**
+     * Returns the values of the floating point property at the given index.
+     *
+     * @throws IllegalStateException if the property is not a floating point property.
+     */
+    public double[] getDoubles(int propertyIndex) {
+        return checkKind(propertyIndex, Kind.DOUBLE).doubles;
+    }
+
+    /**
+     * Returns the values of the string property at the given index.
+     *
+     * @throws IllegalStateException if the property is not a string property.
+     */
+    public String[] getStrings(int propertyIndex) {
+        return checkKind(propertyIndex, Kind.STRING).strings;
+    }
+
+    /**
+     * Returns the null mask of the property at the given index (true for null values),
+     * or null if the property type can not be null or null values were not detected
+     * (see {@link ProjectionQuery#withNulls()}).
+     */
+    @Nullable
+    public boolean[] getNulls(int propertyIndex) {
+        return columns[propertyIndex].nulls;
+    }
+
+    /** True if the value of the property at the given index is null for the given row. */
+    public boolean isNull(int propertyIndex, int row) {
+        return columns[propertyIndex].isNull(row);
+    }
+
+    private Column checkKind(int propertyIndex, Kind kind) {
+        Column column = columns[propertyIndex];
+        if (column.kind != kind) {
+            throw new IllegalStateException("Property " + propertyIndex + " has " + column.kind + " values");
+        }
+        return column;
+    }
+}
@@ -17,15 +17,32 @@
 package io.objectbox.query;
 
 
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
 import io.objectbox.Property;
+import io.objectbox.exception.NumericOverflowException;
 
 /**
  * Query for a specific property; create using {@link Query#property(Property)}.
+ * For the ID property, {@link #findLongs()} and {@link #count()} only use the IDs of matching objects,
+ * like {@link Query#findIds()}, and do not read any property values.
  * Note: Property values do currently not consider any order defined for the main {@link Query} object
  * (subject to change in a future version).
  */
 @SuppressWarnings("WeakerAccess") // WeakerAccess: allow inner class access without accessor
 public class PropertyQuery {
+
+    /** Receives the values of a property one by one, see {@link #forEachLong(LongConsumer)}. */
+    public interface LongConsumer {
+        void accept(long value);
+    }
+
+    /** Receives the values of a property one by one, see {@link #forEachDouble(DoubleConsumer)}. */
+    public interface DoubleConsumer {
+        void accept(double value);
+    }
+
     final Query<?> query;
     final long queryHandle;
     final Property<?> property;
@@ -35,6 +52,9 @@ public class PropertyQuery {
     boolean noCaseIfDistinct = true;
     boolean enableNull;
     boolean unique;
+    boolean ordered;
+    int orderFlags;
+    long limit;
 
     double nullValueDouble;
     float nullValueFloat;
@@ -106,6 +126,9 @@ public class PropertyQuery {
         nullValueFloat = 0;
         nullValueString = null;
         nullValueLong = 0;
+        ordered = false;
+        orderFlags = 0;
+        limit = 0;
         return this;
     }
 
@@ -173,12 +196,153 @@ public class PropertyQuery {
         return this;
     }
 
+    /**
+     * Sorts values returned by find methods returning multiple values, e.g. {@link #findLongs()}, in ascending order.
+     * Strings are sorted case-insensitive.
+     * <p>
+     * See also: {@link #order(int)}, {@link #limit(long)}
+     */
+    public PropertyQuery order() {
+        return order(0);
+    }
+
+    /**
+     * Sorts values returned by find methods returning multiple values, e.g. {@link #findLongs()}.
+     *
+     * @param flags Bit flags that can be combined using the binary OR operator (|). Supported flags are
+     *              {@link QueryBuilder#DESCENDING} and {@link QueryBuilder#CASE_SENSITIVE}.
+     */
+    public PropertyQuery order(int flags) {
+        ordered = true;
+        orderFlags = flags;
+        return this;
+    }
+
+    /**
+     * Only returns up to the given number of values from find methods returning multiple values,
+     * e.g. {@link #findLongs()}. Combine with {@link #order(int)} to get the largest or smallest values,
+     * e.g. {@code order(QueryBuilder.DESCENDING).limit(100)} for the 100 largest values.
+     *
+     * @param limit the maximum number of values, 0 for no limit.
+     */
+    public PropertyQuery limit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Applies {@link #order(int)} and {@link #limit(long)} to the given primitive or string array.
+     * Sorts in place as the array was just returned from native code.
+     */
+    private <A> A arrange(A values) {
+        if (!ordered && limit == 0) {
+            return values;
+        }
+        int length = Array.getLength(values);
+        if (ordered) {
+            if (values instanceof String[]) {
+                boolean caseSensitive = (orderFlags & QueryBuilder.CASE_SENSITIVE) != 0;
+                Arrays.sort((String[]) values, caseSensitive ? null : String.CASE_INSENSITIVE_ORDER);
+            } else if (values instanceof long[]) {
+                Arrays.sort((long[]) values);
+            } else if (values instanceof int[]) {
+                Arrays.sort((int[]) values);
+            } else if (values instanceof short[]) {
+                Arrays.sort((short[]) values);
+            } else if (values instanceof char[]) {
+                Arrays.sort((char[]) values);
+            } else if (values instanceof byte[]) {
+                Arrays.sort((byte[]) values);
+            } else if (values instanceof float[]) {
+                Arrays.sort((float[]) values);
+            } else if (values instanceof double[]) {
+                Arrays.sort((double[]) values);
+            }
+        }
+        if (ordered && (orderFlags & QueryBuilder.DESCENDING) != 0) {
+            reverse(values, length);
+        }
+        int resultLength = limit > 0 && limit < length ? (int) limit : length;
+        if (resultLength == length) {
+            return values;
+        }
+        @SuppressWarnings("unchecked")
+        A result = (A) Array.newInstance(values.getClass().getComponentType(), resultLength);
+        //noinspection SuspiciousSystemArraycopy Both are arrays of the same type.
+        System.arraycopy(values, 0, result, 0, resultLength);
+        return result;
+    }
+
+    /** Reverses the given array of any type returned by the native finds in place. */
+    private static void reverse(Object values, int length) {
+        if (values instanceof String[]) {
+            String[] array = (String[]) values;
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                String tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else if (values instanceof long[]) {
+            long[] array = (long[]) values;
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                long tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else if (values instanceof int[]) {
+            int[] array = (int[]) values;
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else if (values instanceof short[]) {
+            short[] array = (short[]) values;
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                short tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else if (values instanceof char[]) {
+            char[] array = (char[]) values;
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                char tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else if (values instanceof byte[]) {
+            byte[] array = (byte[]) values;
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                byte tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else if (values instanceof float[]) {
+            float[] array = (float[]) values;
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                float tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        } else if (values instanceof double[]) {
+            double[] array = (double[]) values;
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                double tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+    }
+
     /**
      * Find the values for the given string property for objects matching the query.
      * <p>
      * Note: null values are excluded from results.
      * <p>
-     * Note: results are not guaranteed to be in any particular order.
+     * Note: results are not guaranteed to be in any particular order, unless {@link #order(int)} is set.
      * <p>
      * See also: {@link #distinct()}, {@link #distinct(QueryBuilder.StringOrder)}
      *
@@ -188,8 +352,8 @@ public class PropertyQuery {
         return query.callInReadTx(() -> {
             boolean distinctNoCase = distinct && noCaseIfDistinct;
             long cursorHandle = query.cursorHandle();
-            return nativeFindStrings(queryHandle, cursorHandle, propertyId, distinct, distinctNoCase,
-                    enableNull, nullValueString);
+            return arrange(nativeFindStrings(queryHandle, cursorHandle, propertyId, distinct, distinctNoCase,
+                    enableNull, nullValueString));
         });
     }
 
@@ -198,16 +362,25 @@ public class PropertyQuery {
      * <p>
      * Note: null values are excluded from results.
      * <p>
-     * Note: results are not guaranteed to be in any particular order.
+     * Note: results are not guaranteed to be in any particular order, unless {@link #order(int)} is set.
      * <p>
      * See also: {@link #distinct()}
      *
      * @return Found longs
      */
     public long[] findLongs() {
-        return query.callInReadTx(() ->
-                nativeFindLongs(queryHandle, query.cursorHandle(), propertyId, distinct, enableNull, nullValueLong)
-        );
+        return query.callInReadTx(() -> arrange(findLongsInReadTx(query.cursorHandle())));
+    }
+
+    /**
+     * For the ID property, gets the IDs of matching objects like {@link Query#findIds()} which does not need to read
+     * the property values from objects; IDs are never null and always distinct.
+     */
+    private long[] findLongsInReadTx(long cursorHandle) {
+        if (property.isId) {
+            return query.nativeFindIds(queryHandle, cursorHandle, 0, 0);
+        }
+        return nativeFindLongs(queryHandle, cursorHandle, propertyId, distinct, enableNull, nullValueLong);
     }
 
     /**
@@ -215,13 +388,14 @@ public class PropertyQuery {
      * <p>
      * Note: null values are excluded from results.
      * <p>
-     * Note: results are not guaranteed to be in any particular order.
+     * Note: results are not guaranteed to be in any particular order, unless {@link #order(int)} is set.
      * <p>
      * See also: {@link #distinct()}
      */
     public int[] findInts() {
         return query.callInReadTx(() ->
-                nativeFindInts(queryHandle, query.cursorHandle(), propertyId, distinct, enableNull, (int) nullValueLong)
+                arrange(nativeFindInts(queryHandle, query.cursorHandle(), propertyId, distinct,
+                        enableNull, (int) nullValueLong))
         );
     }
 
@@ -230,13 +404,14 @@ public class PropertyQuery {
      * <p>
      * Note: null values are excluded from results.
      * <p>
-     * Note: results are not guaranteed to be in any particular order.
+     * Note: results are not guaranteed to be in any particular order, unless {@link #order(int)} is set.
      * <p>
      * See also: {@link #distinct()}
      */
     public short[] findShorts() {
         return query.callInReadTx(() ->
-                nativeFindShorts(queryHandle, query.cursorHandle(), propertyId, distinct, enableNull, (short) nullValueLong)
+                arrange(nativeFindShorts(queryHandle, query.cursorHandle(), propertyId, distinct,
+                        enableNull, (short) nullValueLong))
         );
     }
 
@@ -245,13 +420,14 @@ public class PropertyQuery {
      * <p>
      * Note: null values are excluded from results.
      * <p>
-     * Note: results are not guaranteed to be in any particular order.
+     * Note: results are not guaranteed to be in any particular order, unless {@link #order(int)} is set.
      * <p>
      * See also: {@link #distinct()}
      */
     public char[] findChars() {
         return query.callInReadTx(() ->
-                nativeFindChars(queryHandle, query.cursorHandle(), propertyId, distinct, enableNull, (char) nullValueLong)
+                arrange(nativeFindChars(queryHandle, query.cursorHandle(), propertyId, distinct,
+                        enableNull, (char) nullValueLong))
         );
     }
 
@@ -260,11 +436,12 @@ public class PropertyQuery {
      * <p>
      * Note: null values are excluded from results.
      * <p>
-     * Note: results are not guaranteed to be in any particular order.
+     * Note: results are not guaranteed to be in any particular order, unless {@link #order(int)} is set.
      */
     public byte[] findBytes() {
         return query.callInReadTx(() ->
-                nativeFindBytes(queryHandle, query.cursorHandle(), propertyId, distinct, enableNull, (byte) nullValueLong)
+                arrange(nativeFindBytes(queryHandle, query.cursorHandle(), propertyId, distinct,
+                        enableNull, (byte) nullValueLong))
         );
     }
 
@@ -273,13 +450,14 @@ public class PropertyQuery {
      * <p>
      * Note: null values are excluded from results.
      * <p>
-     * Note: results are not guaranteed to be in any particular order.
+     * Note: results are not guaranteed to be in any particular order, unless {@link #order(int)} is set.
      * <p>
      * See also: {@link #distinct()}
      */
     public float[] findFloats() {
         return query.callInReadTx(() ->
-                nativeFindFloats(queryHandle, query.cursorHandle(), propertyId, distinct, enableNull, nullValueFloat)
+                arrange(nativeFindFloats(queryHandle, query.cursorHandle(), propertyId, distinct,
+                        enableNull, nullValueFloat))
         );
     }
 
@@ -288,16 +466,94 @@ public class PropertyQuery {
      * <p>
      * Note: null values are excluded from results.
      * <p>
-     * Note: results are not guaranteed to be in any particular order.
+     * Note: results are not guaranteed to be in any particular order, unless {@link #order(int)} is set.
      * <p>
      * See also: {@link #distinct()}
      */
     public double[] findDoubles() {
         return query.callInReadTx(() ->
-                nativeFindDoubles(queryHandle, query.cursorHandle(), propertyId, distinct, enableNull, nullValueDouble)
+                arrange(nativeFindDoubles(queryHandle, query.cursorHandle(), propertyId, distinct,
+                        enableNull, nullValueDouble))
         );
     }
 
+    /**
+     * Passes the values of the given integer, char or date property for objects matching the query to the given
+     * consumer, widened to long without allocating a long array for smaller types and without boxing.
+     * <p>
+     * The consumer is called inside a read transaction, so it must not write to the store.
+     * <p>
+     * Null values, distinct, order and limit follow the same rules as {@link #findLongs()}.
+     */
+    public void forEachLong(final LongConsumer consumer) {
+        final Class<?> type = property.type;
+        query.callInReadTx(() -> {
+            long cursorHandle = query.cursorHandle();
+            if (type == int.class || type == Integer.class) {
+                int[] values = arrange(nativeFindInts(queryHandle, cursorHandle, propertyId, distinct, enableNull,
+                        (int) nullValueLong));
+                for (int value : values) consumer.accept(value);
+            } else if (type == short.class || type == Short.class) {
+                short[] values = arrange(nativeFindShorts(queryHandle, cursorHandle, propertyId, distinct, enableNull,
+                        (short) nullValueLong));
+                for (short value : values) consumer.accept(value);
+            } else if (type == byte.class || type == Byte.class) {
+                byte[] values = arrange(nativeFindBytes(queryHandle, cursorHandle, propertyId, distinct, enableNull,
+                        (byte) nullValueLong));
+                for (byte value : values) consumer.accept(value);
+            } else if (type == char.class || type == Character.class) {
+                char[] values = arrange(nativeFindChars(queryHandle, cursorHandle, propertyId, distinct, enableNull,
+                        (char) nullValueLong));
+                for (char value : values) consumer.accept(value);
+            } else {
+                long[] values = arrange(findLongsInReadTx(cursorHandle));
+                for (long value : values) consumer.accept(value);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Passes the values of the given float or double property for objects matching the query to the given consumer
+     * without boxing. Float values are widened to double.
+     * <p>
+     * The consumer is called inside a read transaction, so it must not write to the store.
+     * <p>
+     * Null values, distinct, order and limit follow the same rules as {@link #findDoubles()}.
+     */
+    public void forEachDouble(final DoubleConsumer consumer) {
+        final Class<?> type = property.type;
+        query.callInReadTx(() -> {
+            long cursorHandle = query.cursorHandle();
+            if (type == float.class || type == Float.class) {
+                float[] values = arrange(nativeFindFloats(queryHandle, cursorHandle, propertyId, distinct, enableNull,
+                        nullValueFloat));
+                for (float value : values) consumer.accept(value);
+            } else {
+                double[] values = arrange(nativeFindDoubles(queryHandle, cursorHandle, propertyId, distinct, enableNull,
+                        nullValueDouble));
+                for (double value : values) consumer.accept(value);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Passes the values of the given string property for objects matching the query to the given consumer.
+     * <p>
+     * The consumer is called inside a read transaction, so it must not write to the store.
+     * <p>
+     * Null values, distinct, order and limit follow the same rules as {@link #findStrings()}.
+     */
+    public void forEachString(final QueryConsumer<String> consumer) {
+        query.callInReadTx(() -> {
+            for (String value : findStrings()) {
+                consumer.accept(value);
+            }
+            return null;
+        });
+    }
+
     public String findString() {
         return query.callInReadTx(() -> {
             boolean distinctCase = distinct && !noCaseIfDistinct;
@@ -451,9 +707,112 @@ public class PropertyQuery {
      * See also: {@link #distinct()}
      */
     public long count() {
-        return query.callInReadTx(
-                () -> nativeCount(queryHandle, query.cursorHandle(), propertyId, distinct)
-        );
+        return query.callInReadTx(() -> {
+            if (property.isId) {
+                // IDs are never null and always distinct
+                return query.nativeCount(queryHandle, query.cursorHandle());
+            }
+            return nativeCount(queryHandle, query.cursorHandle(), propertyId, distinct);
+        });
+    }
+
+    /**
+     * Estimates the count of distinct non-null values using a HyperLogLog sketch of fixed size (16 KB),
+     * regardless of the number of values; the standard error is about 0.8 %.
+     * <p>
+     * Unlike {@link #distinct()} with {@link #count()}, no set of all distinct values is built.
+     * Strings are compared case-sensitive.
+     */
+    public long approxCountDistinct() {
+        return query.callInReadTx(() -> {
+            QueryColumns.Column column = QueryColumns.readNonNull(query, property);
+            HyperLogLog hyperLogLog = new HyperLogLog();
+            int size = column.size();
+            for (int i = 0; i < size; i++) {
+                if (column.longs != null) {
+                    hyperLogLog.addLong(column.longs[i]);
+                } else if (column.doubles != null) {
+                    hyperLogLog.addDouble(column.doubles[i]);
+                } else {
+                    //noinspection ConstantConditions One of the arrays is always set.
+                    hyperLogLog.addString(column.strings[i]);
+                }
+            }
+            return hyperLogLog.estimate();
+        });
+    }
+
+    /**
+     * Estimates the values at the given fractions (0 to 1) of the sorted non-null values of a number property,
+     * e.g. {@code approxQuantiles(0.5, 0.95, 0.99)} for the median, p95 and p99. Uses a quantile sketch with memory
+     * logarithmic in the number of values; the rank error is typically well below 1 %.
+     *
+     * @return the estimated value for each fraction, NaN if there are no values.
+     */
+    public double[] approxQuantiles(double... fractions) {
+        return query.callInReadTx(() -> {
+            QueryColumns.Column column = readNumbers();
+            QuantileSketch sketch = new QuantileSketch();
+            int size = column.size();
+            for (int i = 0; i < size; i++) {
+                //noinspection ConstantConditions One of the arrays is always set.
+                sketch.add(column.longs != null ? column.longs[i] : column.doubles[i]);
+            }
+            return sketch.quantiles(fractions);
+        });
+    }
+
+    /**
+     * Computes count, minimum, maximum, sum and average of the non-null values of a number property in a single
+     * pass, instead of running {@link #count()}, {@link #min()}, {@link #max()}, {@link #sum()} and {@link #avg()}
+     * separately.
+     *
+     * @throws NumericOverflowException if the sum of an integer property exceeds the long value range.
+     */
+    public PropertySummary summary() {
+        return query.callInReadTx(() -> {
+            QueryColumns.Column column = readNumbers();
+            int size = column.size();
+            long count = 0;
+            long[] longs = column.longs;
+            if (longs != null) {
+                long min = Long.MAX_VALUE;
+                long max = Long.MIN_VALUE;
+                long sum = 0;
+                for (int i = 0; i < size; i++) {
+                    long value = longs[i];
+                    count++;
+                    if (value < min) min = value;
+                    if (value > max) max = value;
+                    long newSum = sum + value;
+                    // Overflow if both operands have the sign opposite of the result
+                    if (((sum ^ newSum) & (value ^ newSum)) < 0) {
+                        throw new NumericOverflowException("Numeric overflow while summing up " + property);
+                    }
+                    sum = newSum;
+                }
+                return new PropertySummary(count, min, max, sum);
+            }
+            double[] doubles = column.doubles;
+            double min = Double.NaN;
+            double max = Double.NaN;
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                //noinspection ConstantConditions Set if longs are not.
+                double value = doubles[i];
+                if (count++ == 0 || value < min) min = value;
+                if (count == 1 || value > max) max = value;
+                sum += value;
+            }
+            return new PropertySummary(count, min, max, sum);
+        });
+    }
+
+    private QueryColumns.Column readNumbers() {
+        if (QueryColumns.kindOf(property) == QueryColumns.Kind.STRING) {
+            throw new IllegalArgumentException("Not a number type: " + property);
+        }
+        return QueryColumns.readNonNull(query, property);
     }
 
 }
\ No newline at end of file
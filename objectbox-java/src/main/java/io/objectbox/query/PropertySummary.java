@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox.query;
+
+/**
+ * Count, minimum, maximum, sum and average of the non-null values of a number property,
+ * computed in a single pass; see {@link PropertyQuery#summary()}.
+ * <p>
+ * For integer and date properties, minimum, maximum and sum are exact long values (see {@link #getMin()});
+ * for floating point properties, use the double getters (e.g. {@link #getMinDouble()}).
+ */
+@SuppressWarnings("WeakerAccess")
+public class PropertySummary {
+    private final long count;
+    private final boolean isLong;
+    private final long min;
+    private final long max;
+    private final long sum;
+    private final double minDouble;
+    private final double maxDouble;
+    private final double sumDouble;
+
+    /** For integer properties. */
+    PropertySummary(long count, long min, long max, long sum) {
+        this.count = count;
+        this.isLong = true;
+        this.min = min;
+        this.max = max;
+        this.sum = sum;
+        this.minDouble = count > 0 ? min : Double.NaN;
+        this.maxDouble = count > 0 ? max : Double.NaN;
+        this.sumDouble = sum;
+    }
+
+    /** For floating point properties. */
+    PropertySummary(long count, double min, double max, double sum) {
+        this.count = count;
+        this.isLong = false;
+        this.min = 0;
+        this.max = 0;
+        this.sum = 0;
+        this.minDouble = min;
+        this.maxDouble = max;
+        this.sumDouble = sum;
+    }
+
+    /** The count of non-null values. */
+    public long getCount() {
+        return count;
+    }
+
+    /** True if the values are integers (see {@link #getMin()}), false for floating point values. */
+    public boolean isLong() {
+        return isLong;
+    }
+
+    /**
+     * The minimum value of an integer property, or Long.MAX_VALUE if there are no values.
+     *
+     * @throws IllegalStateException if the property is a floating point property, use {@link #getMinDouble()}.
+     */
+    public long getMin() {
+        checkLong();
+        return count > 0 ? min : Long.MAX_VALUE;
+    }
+
+    /**
+     * The maximum value of an integer property, or Long.MIN_VALUE if there are no values.
+     *
+     * @throws IllegalStateException if the property is a floating point property, use {@link #getMaxDouble()}.
+     */
+    public long getMax() {
+        checkLong();
+        return count > 0 ? max : Long.MIN_VALUE;
+    }
+
+    /**
+     * The sum of all values of an integer property, or 0 if there are no values.
+     *
+     * @throws IllegalStateException if the property is a floating point property, use {@link #getSumDouble()}.
+     */
+    public long getSum() {
+        checkLong();
+        return sum;
+    }
+
+    /** The minimum value, or NaN if there are no values. Integer values may lose precision. */
+    public double getMinDouble() {
+        return minDouble;
+    }
+
+    /** The maximum value, or NaN if there are no values. Integer values may lose precision. */
+    public double getMaxDouble() {
+        return maxDouble;
+    }
+
+    /** The sum of all values, or 0 if there are no values. Integer values may lose precision. */
+    public double getSumDouble() {
+        return sumDouble;
+    }
+
+    /** The average of all values, or NaN if there are no values. */
+    public double getAverage() {
+        return count > 0 ? sumDouble / count : Double.NaN;
+    }
+
+    private void checkLong() {
+        if (!isLong) {
+            throw new IllegalStateException("Values are floating point, use the double getters");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox.query;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Estimates quantiles in a single pass with memory logarithmic in the number of values, similar to a KLL sketch:
+ * values are collected in levels of fixed capacity; a full level is sorted and every other value (random start)
+ * is promoted to the next level with doubled weight. With the default capacity the rank error is typically
+ * well below 1 %.
+ */
+final class QuantileSketch {
+
+    private static final int CAPACITY = 256;
+
+    // Fixed seed to get reproducible results for the same input
+    private final Random random = new Random(42);
+    private double[][] levels = new double[1][CAPACITY];
+    private int[] sizes = new int[1];
+
+    void add(double value) {
+        if (Double.isNaN(value)) return;
+        addToLevel(0, value);
+    }
+
+    private void addToLevel(int level, double value) {
+        if (level == levels.length) {
+            levels = Arrays.copyOf(levels, level + 1);
+            levels[level] = new double[CAPACITY];
+            sizes = Arrays.copyOf(sizes, level + 1);
+        }
+        double[] values = levels[level];
+        values[sizes[level]++] = value;
+        if (sizes[level] == CAPACITY) {
+            Arrays.sort(values);
+            sizes[level] = 0;
+            for (int i = random.nextBoolean() ? 1 : 0; i < CAPACITY; i += 2) {
+                addToLevel(level + 1, values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the estimated value for each of the given fractions (0 to 1, e.g. 0.5 for the median);
+     * NaN if no values were added.
+     */
+    double[] quantiles(double... fractions) {
+        double[] result = new double[fractions.length];
+        int retained = 0;
+        for (int size : sizes) retained += size;
+        if (retained == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+
+        // Sort all retained values by value together with their weights
+        long[] weighted = new long[retained];
+        double[] values = new double[retained];
+        Integer[] order = new Integer[retained];
+        int index = 0;
+        for (int level = 0; level < levels.length; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                values[index] = levels[level][i];
+                weighted[index] = 1L << level;
+                order[index] = index;
+                index++;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        long totalWeight = 0;
+        for (long weight : weighted) totalWeight += weight;
+
+        for (int f = 0; f < fractions.length; f++) {
+            double fraction = fractions[f];
+            if (fraction < 0 || fraction > 1) {
+                throw new IllegalArgumentException("Fraction must be between 0 and 1: " + fraction);
+            }
+            double targetWeight = fraction * totalWeight;
+            long cumulative = 0;
+            double value = values[order[retained - 1]];
+            for (int i = 0; i < retained; i++) {
+                cumulative += weighted[order[i]];
+                if (cumulative >= targetWeight) {
+                    value = values[order[i]];
+                    break;
+                }
+            }
+            result[f] = value;
+        }
+        return result;
+    }
+
+}
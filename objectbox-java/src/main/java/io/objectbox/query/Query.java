@@ -17,11 +17,15 @@
 package io.objectbox.query;
 
 import java.io.Closeable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
 import javax.annotation.Nonnull;
@@ -31,6 +35,7 @@ import io.objectbox.Box;
 import io.objectbox.BoxStore;
 import io.objectbox.InternalAccess;
 import io.objectbox.Property;
+import io.objectbox.internal.ReflectionCache;
 import io.objectbox.reactive.DataObserver;
 import io.objectbox.reactive.DataSubscriptionList;
 import io.objectbox.reactive.SubscriptionBuilder;
@@ -196,23 +201,71 @@ public class Query<T> implements Closeable {
      */
     @Nonnull
     public List<T> find() {
-        return callInReadTx(() -> {
-            List<T> entities = nativeFind(Query.this.handle, cursorHandle(), 0, 0);
-            if (filter != null) {
-                Iterator<T> iterator = entities.iterator();
-                while (iterator.hasNext()) {
-                    T entity = iterator.next();
-                    if (!filter.keep(entity)) {
-                        iterator.remove();
-                    }
+        return callInReadTx(this::findInReadTx);
+    }
+
+    /** To be called inside a read TX; applies filter, eager relations and comparator like {@link #find()}. */
+    private List<T> findInReadTx() throws Exception {
+        List<T> entities = nativeFind(handle, cursorHandle(), 0, 0);
+        if (filter != null) {
+            Iterator<T> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                T entity = iterator.next();
+                if (!filter.keep(entity)) {
+                    iterator.remove();
                 }
             }
-            resolveEagerRelations(entities);
-            if (comparator != null) {
-                Collections.sort(entities, comparator);
-            }
-            return entities;
-        });
+        }
+        resolveEagerRelations(entities);
+        if (comparator != null) {
+            Collections.sort(entities, comparator);
+        }
+        return entities;
+    }
+
+    /**
+     * Runs this query once for each of the given parameter values, for example to find the orders of many customers:
+     * {@code query.findForEach(Order_.customerId, customerIds)}.
+     * In contrast to calling {@link #find()} for each value, all runs share a single read transaction.
+     * <p>
+     * The query must have a condition using the given property as a parameter (see
+     * {@link #setParameter(Property, long)}); after this call the parameter keeps the last value.
+     *
+     * @return a map from each given value to the list of matching objects (an empty list if none match),
+     * iterating in the order of the given values.
+     */
+    @Nonnull
+    public Map<Long, List<T>> findForEach(Property<?> property, long[] values) {
+        synchronized (this) {
+            return callInReadTx(() -> {
+                Map<Long, List<T>> results = new LinkedHashMap<>(values.length * 4 / 3 + 1);
+                for (long value : values) {
+                    nativeSetParameter(handle, property.getEntityId(), property.getId(), null, value);
+                    results.put(value, findInReadTx());
+                }
+                return results;
+            });
+        }
+    }
+
+    /**
+     * Like {@link #findForEach(Property, long[])}, but only returns the IDs of matching objects.
+     * <p>
+     * Note: a filter set with {@link QueryBuilder#filter(QueryFilter)} will be silently ignored!
+     */
+    @Nonnull
+    public Map<Long, long[]> findIdsForEach(Property<?> property, long[] values) {
+        synchronized (this) {
+            return callInReadTx(() -> {
+                Map<Long, long[]> results = new LinkedHashMap<>(values.length * 4 / 3 + 1);
+                long cursorHandle = cursorHandle();
+                for (long value : values) {
+                    nativeSetParameter(handle, property.getEntityId(), property.getId(), null, value);
+                    results.put(value, nativeFindIds(handle, cursorHandle, 0, 0));
+                }
+                return results;
+            });
+        }
     }
 
     /**
@@ -271,6 +324,32 @@ public class Query<T> implements Closeable {
         return new PropertyQuery(this, property);
     }
 
+    /**
+     * Creates a {@link GroupByQuery} to compute aggregates (e.g. count and sum) for each distinct value of the given
+     * key property over all objects matching this query.
+     *
+     * @param keyProperty a string, integer or date property to group by
+     */
+    public GroupByQuery<T> groupBy(Property<T> keyProperty) {
+        return new GroupByQuery<>(this, keyProperty);
+    }
+
+    /**
+     * Creates a {@link ProjectionQuery} to get the values of several properties of all objects matching this query
+     * as aligned columns, without creating any objects.
+     *
+     * @param properties string, integer, floating point or date properties to return values for
+     */
+    @SafeVarargs
+    public final ProjectionQuery<T> project(Property<T>... properties) {
+        // Copy elements instead of passing the varargs array on, so the caller can not change it later
+        List<Property<T>> propertyList = new ArrayList<>(properties.length);
+        for (Property<T> property : properties) {
+            propertyList.add(property);
+        }
+        return new ProjectionQuery<>(this, propertyList);
+    }
+
     <R> R callInReadTx(Callable<R> callable) {
         return store.callInReadTxWithRetry(callable, queryAttempts, INITIAL_RETRY_BACK_OFF_IN_MS, true);
     }
@@ -375,6 +454,69 @@ public class Query<T> implements Closeable {
         return box.internalCallWithReaderHandle(cursorHandle -> nativeCount(handle, cursorHandle));
     }
 
+    /**
+     * Returns the count of Objects matching the query, but stops counting once the given maximum is reached.
+     * Use this instead of {@link #count()} if only e.g. "more than 100" matters, as it does not visit all matches.
+     *
+     * @param maxCount the maximum to count up to, 0 to count all (same as {@link #count()}).
+     */
+    public long count(final long maxCount) {
+        if (maxCount < 0) {
+            throw new IllegalArgumentException("Max count must not be negative: " + maxCount);
+        }
+        if (maxCount == 0) {
+            return count();
+        }
+        ensureNoFilter();
+        return box.internalCallWithReaderHandle(cursorHandle -> nativeFindIds(handle, cursorHandle, 0, maxCount))
+                .length;
+    }
+
+    /**
+     * Returns true if at least one Object matches the query. Unlike {@code findFirst() != null}, stops at the first
+     * match and does not create an Object.
+     */
+    public boolean exists() {
+        return count(1) > 0;
+    }
+
+    /**
+     * Creates a new {@link BoundQuery} to supply parameter values for a single call, e.g.
+     * {@code query.bind().param(Order_.customerId, customerId).find()}.
+     * <p>
+     * In contrast to the setParameter methods, binding and executing happen atomically.
+     * This allows to share a single Query object among threads without each thread having to use its own Query.
+     */
+    public BoundQuery<T> bind() {
+        return new BoundQuery<>(this);
+    }
+
+    /**
+     * Applies the given bindings and calls the callable while holding the lock of this query,
+     * so no other bound call can change parameter values in between.
+     * To avoid deadlocks, a callable writing data must be called inside a write transaction started before,
+     * see {@link #removeWithBindings(List)}: the lock order is always transaction, then query lock.
+     */
+    synchronized <R> R callWithBindings(List<BoundQuery.Binding> bindings, Callable<R> callable) {
+        for (BoundQuery.Binding binding : bindings) {
+            binding.apply(this);
+        }
+        try {
+            return callable.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Callable threw exception", e);
+        }
+    }
+
+    /** Like {@link #remove()} with the given bindings, see {@link #callWithBindings(List, Callable)}. */
+    long removeWithBindings(List<BoundQuery.Binding> bindings) {
+        final long[] removed = new long[1];
+        store.runInTx(() -> removed[0] = callWithBindings(bindings, this::remove));
+        return removed[0];
+    }
+
     /**
      * Sets a parameter previously given to the {@link QueryBuilder} to a new value.
      */
@@ -582,6 +724,105 @@ public class Query<T> implements Closeable {
         return box.internalCallWithWriterHandle(cursorHandle -> nativeRemove(handle, cursorHandle));
     }
 
+    /**
+     * Sets the given property of all objects matching the query to the given value,
+     * reading and putting the objects in a single transaction.
+     * <p>
+     * Unlike {@link #remove()}, a filter set with {@link QueryBuilder#filter(QueryFilter)} is applied.
+     *
+     * @param property must not be the ID property.
+     * @param value    must match the type of the field of the property, e.g. an Integer for an int property.
+     * @return count of updated objects.
+     */
+    public long update(Property<T> property, @Nullable Object value) {
+        return updateInTx(property, value).size();
+    }
+
+    /**
+     * Like {@link #update(Property, Object)}, but returns the IDs of the updated objects,
+     * e.g. to invalidate cached objects.
+     */
+    public long[] updateAndGetIds(Property<T> property, @Nullable Object value) {
+        List<T> entities = updateInTx(property, value);
+        long[] ids = new long[entities.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = box.getId(entities.get(i));
+        }
+        return ids;
+    }
+
+    private List<T> updateInTx(Property<T> property, @Nullable final Object value) {
+        if (property.isId) {
+            // Would put the objects with a different ID, leaving the originals unchanged
+            throw new IllegalArgumentException("The ID property can not be set: " + property);
+        }
+        final Field field = ReflectionCache.getInstance().getField(box.getEntityClass(), property.name);
+        final List<T> updated = new ArrayList<>();
+        store.runInTx(() -> {
+            List<T> entities = find();
+            for (T entity : entities) {
+                try {
+                    field.set(entity, value);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            box.put(entities);
+            updated.addAll(entities);
+        });
+        return updated;
+    }
+
+    /**
+     * Like {@link #remove()}, but returns the IDs of the removed objects, e.g. to invalidate cached objects.
+     * The IDs are determined in the same transaction that removes the objects.
+     */
+    public long[] removeAndGetIds() {
+        ensureNoFilter();
+        return box.internalCallWithWriterHandle(cursorHandle -> {
+            long[] ids = nativeFindIds(handle, cursorHandle, 0, 0);
+            nativeRemove(handle, cursorHandle);
+            return ids;
+        });
+    }
+
+    /**
+     * Removes all objects matching the query in batches, using a separate transaction for each batch.
+     * Unlike {@link #remove()}, this keeps write transactions short when removing many objects,
+     * so other writers are not blocked for long. As a consequence, removing is not atomic:
+     * objects put by other transactions in between may also be removed.
+     *
+     * @param batchSize Number of objects to remove in one transaction. Must be 1 or greater.
+     * @param listener  Optional; notified of the IDs removed by each batch and may stop further removal.
+     * @return count of removed objects.
+     */
+    public long removeBatched(final int batchSize, @Nullable BatchRemoveListener listener) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be 1 or greater but was " + batchSize);
+        }
+        ensureNoFilter();
+        final long[][] batch = new long[1][];
+        long removedCount = 0;
+        while (true) {
+            store.runInTx(() -> {
+                batch[0] = findIds(0, batchSize);
+                box.remove(batch[0]);
+            });
+            long[] removedIds = batch[0];
+            if (removedIds.length == 0) {
+                break;
+            }
+            removedCount += removedIds.length;
+            if (listener != null && !listener.onBatchRemoved(removedIds, removedCount)) {
+                break;
+            }
+            if (removedIds.length < batchSize) {
+                break;
+            }
+        }
+        return removedCount;
+    }
+
     /**
      * A {@link io.objectbox.reactive.DataObserver} can be subscribed to data changes using the returned builder.
      * The observer is supplied via {@link SubscriptionBuilder#observer(DataObserver)} and will be notified once
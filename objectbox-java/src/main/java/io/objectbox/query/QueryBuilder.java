@@ -20,7 +20,9 @@ import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -115,6 +117,8 @@ public class QueryBuilder<T> implements Closeable {
 
     private final boolean isSubQuery;
 
+    private boolean stableOrder;
+
     private native long nativeCreate(long storeHandle, String entityName);
 
     private native void nativeDestroy(long handle);
@@ -231,6 +235,9 @@ public class QueryBuilder<T> implements Closeable {
         if (combineNextWith != Operator.NONE) {
             throw new IllegalStateException("Incomplete logic condition. Use or()/and() between two conditions only.");
         }
+        if (stableOrder) {
+            nativeOrder(handle, box.getEntityInfo().getIdProperty().getId(), 0);
+        }
         long queryHandle = nativeBuild(handle);
         Query<T> query = new Query<>(box, queryHandle, eagerRelations, filter, comparator);
         close();
@@ -281,7 +288,7 @@ public class QueryBuilder<T> implements Closeable {
      * queryBuilder.order(Name).orderDesc(YearOfBirth);
      * <p>
      * Here, "Name" defines the primary sort order. The secondary sort order "YearOfBirth" is only used to compare
-     * entries with the same "Name" values.
+     * entries with the same "Name" values. Use {@link #orderStable()} to break remaining ties by ID.
      *
      * @param property the property defining the order
      * @param flags    Bit flags that can be combined using the binary OR operator (|). Available flags are
@@ -301,6 +308,31 @@ public class QueryBuilder<T> implements Closeable {
         return this;
     }
 
+    /**
+     * Makes the order of results deterministic by ordering by ID after all other order conditions.
+     * Thus, objects having equal values for all properties given to {@link #order(Property, int)} are returned in
+     * the order they were put in.
+     * <p>
+     * This is especially useful for pagination using {@link Query#find(long, long)}: without a tie-breaker, objects
+     * with equal sort values may appear on more than one page or on none.
+     * <p>
+     * Note: it does not matter if this is called before or after other order conditions.
+     */
+    public QueryBuilder<T> orderStable() {
+        verifyNotSubQuery();
+        verifyHandle();
+        stableOrder = true;
+        return this;
+    }
+
+    /**
+     * Sorts the results using the given comparator on the Java side.
+     * <p>
+     * Prefer {@link #order(Property, int)} if possible: it runs inside the database, can be chained to order by
+     * several properties (e.g. by A descending, then by B case insensitive) and works with
+     * {@link Query#find(long, long)} and other find methods. Sorting with a comparator requires to load all results
+     * and is only supported by {@link Query#find()}.
+     */
     public QueryBuilder<T> sort(Comparator<T> comparator) {
         this.comparator = comparator;
         return this;
@@ -705,6 +737,49 @@ public class QueryBuilder<T> implements Closeable {
         return this;
     }
 
+    /**
+     * Matches objects whose string property contains all of the given terms (in any order), ignoring case.
+     * The given text is split into terms at any character that is not a letter or digit,
+     * e.g. "red, shirt" results in the terms "red" and "shirt".
+     * <p>
+     * This is a shorthand for combining a {@link #contains(Property, String)} condition for each term using AND;
+     * terms are matched as substrings, not as whole words. The resulting condition counts as a single condition,
+     * e.g. for {@link #or()}.
+     *
+     * @throws IllegalArgumentException if the text contains no terms.
+     */
+    public QueryBuilder<T> matches(Property<T> property, String text) {
+        verifyHandle();
+        Set<String> terms = new LinkedHashSet<>();
+        int start = -1;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            // Check code points, not chars, so letters outside the BMP (surrogate pairs) are kept
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start == -1) start = i;
+            } else if (start != -1) {
+                terms.add(text.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start != -1) {
+            terms.add(text.substring(start));
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("No terms to match in: \"" + text + "\"");
+        }
+        long condition = 0;
+        for (String term : terms) {
+            long termCondition = nativeContains(handle, property.getId(), term, false);
+            condition = condition == 0 ? termCondition : nativeCombine(handle, condition, termCondition, false);
+        }
+        checkCombineCondition(condition);
+        return this;
+    }
+
     public QueryBuilder<T> contains(Property<T> property, String value, StringOrder order) {
         verifyHandle();
         checkCombineCondition(nativeContains(handle, property.getId(), value, order == StringOrder.CASE_SENSITIVE));
@@ -751,6 +826,40 @@ public class QueryBuilder<T> implements Closeable {
         return this;
     }
 
+    /**
+     * Matches values between (including) the two given values. Ignores case when matching results.
+     * Use the overload and pass {@link StringOrder#CASE_SENSITIVE StringOrder.CASE_SENSITIVE} to specify that case
+     * should not be ignored.
+     */
+    public QueryBuilder<T> between(Property<T> property, String value1, String value2) {
+        return between(property, value1, value2, StringOrder.CASE_INSENSITIVE);
+    }
+
+    /**
+     * Matches values between (including) the two given values.
+     * <p>
+     * Note: this is a combination of greater, less and equal conditions and thus can not be changed using
+     * {@link Query#setParameters(Property, String[])}.
+     */
+    public QueryBuilder<T> between(Property<T> property, String value1, String value2, StringOrder order) {
+        verifyHandle();
+        boolean caseSensitive = order == StringOrder.CASE_SENSITIVE;
+        int propertyId = property.getId();
+        checkCombineCondition(inclusiveRange(
+                nativeGreater(handle, propertyId, value1, caseSensitive),
+                nativeEqual(handle, propertyId, value1, caseSensitive),
+                nativeLess(handle, propertyId, value2, caseSensitive),
+                nativeEqual(handle, propertyId, value2, caseSensitive)));
+        return this;
+    }
+
+    /** Combines the given conditions to (greater OR equal lower bound) AND (less OR equal upper bound). */
+    private long inclusiveRange(long greater, long equalLower, long less, long equalUpper) {
+        long lower = nativeCombine(handle, greater, equalLower, true);
+        long upper = nativeCombine(handle, less, equalUpper, true);
+        return nativeCombine(handle, lower, upper, false);
+    }
+
     /**
      * Ignores case when matching results. Use the overload and pass
      * {@link StringOrder#CASE_SENSITIVE StringOrder.CASE_SENSITIVE} to specify that case should not be ignored.
@@ -822,4 +931,16 @@ public class QueryBuilder<T> implements Closeable {
         return this;
     }
 
+    /** Matches values between (including) the two given values, comparing bytes in order. */
+    public QueryBuilder<T> between(Property<T> property, byte[] value1, byte[] value2) {
+        verifyHandle();
+        int propertyId = property.getId();
+        checkCombineCondition(inclusiveRange(
+                nativeGreater(handle, propertyId, value1),
+                nativeEqual(handle, propertyId, value1),
+                nativeLess(handle, propertyId, value2),
+                nativeEqual(handle, propertyId, value2)));
+        return this;
+    }
+
 }
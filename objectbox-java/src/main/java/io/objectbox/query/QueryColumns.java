@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox.query;
+
+import java.util.Date;
+
+import javax.annotation.Nullable;
+
+import io.objectbox.Property;
+
+/**
+ * Reads property values of all objects matching a query as columns.
+ * <p>
+ * All columns read using {@link #read(Query, Property, boolean)} for the same query inside the same read TX are
+ * aligned: the value at index i of each column belongs to the same object. To keep this alignment, null values are
+ * replaced by a null value (see {@link PropertyQuery#nullValue(Object)}) instead of being skipped.
+ * If only non-null values are of interest, {@link #readNonNull(Query, Property)} skips null values instead.
+ */
+final class QueryColumns {
+
+    enum Kind {
+        LONG, DOUBLE, STRING
+    }
+
+    /** Values of a single property; exactly one of the value arrays is set depending on the {@link Kind}. */
+    static final class Column {
+        final Kind kind;
+        @Nullable final long[] longs;
+        @Nullable final double[] doubles;
+        @Nullable final String[] strings;
+        /** Null if the property type can not be null (Java primitive). */
+        @Nullable final boolean[] nulls;
+
+        Column(Kind kind, @Nullable long[] longs, @Nullable double[] doubles, @Nullable String[] strings,
+               @Nullable boolean[] nulls) {
+            this.kind = kind;
+            this.longs = longs;
+            this.doubles = doubles;
+            this.strings = strings;
+            this.nulls = nulls;
+        }
+
+        int size() {
+            if (longs != null) return longs.length;
+            if (doubles != null) return doubles.length;
+            //noinspection ConstantConditions One of the arrays is always set.
+            return strings.length;
+        }
+
+        boolean isNull(int row) {
+            return nulls != null && nulls[row];
+        }
+    }
+
+    private QueryColumns() {
+    }
+
+    static Kind kindOf(Property<?> property) {
+        Class<?> type = property.type;
+        if (type == String.class) {
+            return Kind.STRING;
+        } else if (type == float.class || type == Float.class || type == double.class || type == Double.class) {
+            return Kind.DOUBLE;
+        } else if (type == long.class || type == Long.class || type == Date.class
+                || type == int.class || type == Integer.class || type == short.class || type == Short.class
+                || type == byte.class || type == Byte.class || type == char.class || type == Character.class) {
+            return Kind.LONG;
+        }
+        throw new IllegalArgumentException("Property type " + type.getSimpleName() +
+                " is not supported, use a string, integer, floating point or date property: " + property);
+    }
+
+    /**
+     * Reads the values of the given property for all objects matching the query. Must be called inside a read TX.
+     *
+     * @param withNulls if the property type can be null, detect null values at the cost of a second read.
+     */
+    static Column read(Query<?> query, Property<?> property, boolean withNulls) {
+        Kind kind = kindOf(property);
+        boolean nullable = withNulls && !property.type.isPrimitive();
+        PropertyQuery propertyQuery = new PropertyQuery(query, property);
+        long cursorHandle = query.cursorHandle();
+        switch (kind) {
+            case STRING: {
+                String[] values = findStrings(propertyQuery, cursorHandle, true, "");
+                boolean[] nulls = null;
+                if (nullable) {
+                    String[] values2 = findStrings(propertyQuery, cursorHandle, true, "\u0000");
+                    nulls = new boolean[values.length];
+                    for (int i = 0; i < values.length; i++) {
+                        if (!values[i].equals(values2[i])) {
+                            nulls[i] = true;
+                            values[i] = null;
+                        }
+                    }
+                }
+                return new Column(kind, null, null, values, nulls);
+            }
+            case DOUBLE: {
+                double[] values = findDoubles(propertyQuery, cursorHandle, true, 0);
+                boolean[] nulls = null;
+                if (nullable) {
+                    double[] values2 = findDoubles(propertyQuery, cursorHandle, true, 1);
+                    nulls = new boolean[values.length];
+                    for (int i = 0; i < values.length; i++) {
+                        // Compare bits: a stored NaN is not equal to itself, but is not null either
+                        nulls[i] = Double.doubleToRawLongBits(values[i]) != Double.doubleToRawLongBits(values2[i]);
+                    }
+                }
+                return new Column(kind, null, values, null, nulls);
+            }
+            default: {
+                long[] values = findLongs(propertyQuery, cursorHandle, true, 0);
+                boolean[] nulls = null;
+                if (nullable) {
+                    long[] values2 = findLongs(propertyQuery, cursorHandle, true, 1);
+                    nulls = new boolean[values.length];
+                    for (int i = 0; i < values.length; i++) {
+                        nulls[i] = values[i] != values2[i];
+                    }
+                }
+                return new Column(kind, values, null, null, nulls);
+            }
+        }
+    }
+
+    /**
+     * Reads the non-null values of the given property for all objects matching the query in a single pass.
+     * Null values are skipped, so the column is not aligned with other columns. Must be called inside a read TX.
+     */
+    static Column readNonNull(Query<?> query, Property<?> property) {
+        Kind kind = kindOf(property);
+        PropertyQuery propertyQuery = new PropertyQuery(query, property);
+        long cursorHandle = query.cursorHandle();
+        switch (kind) {
+            case STRING:
+                return new Column(kind, null, null, findStrings(propertyQuery, cursorHandle, false, null), null);
+            case DOUBLE:
+                return new Column(kind, null, findDoubles(propertyQuery, cursorHandle, false, 0), null, null);
+            default:
+                return new Column(kind, findLongs(propertyQuery, cursorHandle, false, 0), null, null, null);
+        }
+    }
+
+    private static String[] findStrings(PropertyQuery pq, long cursorHandle, boolean enableNull,
+                                        @Nullable String nullValue) {
+        return pq.nativeFindStrings(pq.queryHandle, cursorHandle, pq.propertyId, false, false, enableNull, nullValue);
+    }
+
+    private static double[] findDoubles(PropertyQuery pq, long cursorHandle, boolean enableNull, double nullValue) {
+        Class<?> type = pq.property.type;
+        if (type == double.class || type == Double.class) {
+            return pq.nativeFindDoubles(pq.queryHandle, cursorHandle, pq.propertyId, false, enableNull, nullValue);
+        }
+        float[] floats = pq.nativeFindFloats(pq.queryHandle, cursorHandle, pq.propertyId, false, enableNull,
+                (float) nullValue);
+        double[] values = new double[floats.length];
+        for (int i = 0; i < floats.length; i++) {
+            values[i] = floats[i];
+        }
+        return values;
+    }
+
+    private static long[] findLongs(PropertyQuery pq, long cursorHandle, boolean enableNull, long nullValue) {
+        Class<?> type = pq.property.type;
+        long handle = pq.queryHandle;
+        int id = pq.propertyId;
+        if (type == long.class || type == Long.class || type == Date.class) {
+            return pq.nativeFindLongs(handle, cursorHandle, id, false, enableNull, nullValue);
+        }
+        long[] values;
+        if (type == int.class || type == Integer.class) {
+            int[] ints = pq.nativeFindInts(handle, cursorHandle, id, false, enableNull, (int) nullValue);
+            values = new long[ints.length];
+            for (int i = 0; i < ints.length; i++) values[i] = ints[i];
+        } else if (type == short.class || type == Short.class) {
+            short[] shorts = pq.nativeFindShorts(handle, cursorHandle, id, false, enableNull, (short) nullValue);
+            values = new long[shorts.length];
+            for (int i = 0; i < shorts.length; i++) values[i] = shorts[i];
+        } else if (type == byte.class || type == Byte.class) {
+            byte[] bytes = pq.nativeFindBytes(handle, cursorHandle, id, false, enableNull, (byte) nullValue);
+            values = new long[bytes.length];
+            for (int i = 0; i < bytes.length; i++) values[i] = bytes[i];
+        } else {
+            char[] chars = pq.nativeFindChars(handle, cursorHandle, id, false, enableNull, (char) nullValue);
+            values = new long[chars.length];
+            for (int i = 0; i < chars.length; i++) values[i] = chars[i];
+        }
+        return values;
+    }
+
+}
@@ -16,6 +16,10 @@
 
 package io.objectbox;
 
+import java.util.Date;
+
+import javax.annotation.Nullable;
+
 /** In "real" entity would be annotated with @Entity. */
 public class TestEntity {
 
@@ -44,6 +48,9 @@ public class TestEntity {
     private int simpleIntU;
     /** In "real" entity would be annotated with @Unsigned. */
     private long simpleLongU;
+    /** May be null. */
+    @Nullable
+    private Date simpleDate;
 
     transient boolean noArgsConstructorCalled;
 
@@ -55,7 +62,7 @@ public class TestEntity {
         this.id = id;
     }
 
-    public TestEntity(long id, boolean simpleBoolean, byte simpleByte, short simpleShort, int simpleInt, long simpleLong, float simpleFloat, double simpleDouble, String simpleString, byte[] simpleByteArray, short simpleShortU, int simpleIntU, long simpleLongU) {
+    public TestEntity(long id, boolean simpleBoolean, byte simpleByte, short simpleShort, int simpleInt, long simpleLong, float simpleFloat, double simpleDouble, String simpleString, byte[] simpleByteArray, short simpleShortU, int simpleIntU, long simpleLongU, @Nullable Date simpleDate) {
         this.id = id;
         this.simpleBoolean = simpleBoolean;
         this.simpleByte = simpleByte;
@@ -69,6 +76,7 @@ public class TestEntity {
         this.simpleShortU = simpleShortU;
         this.simpleIntU = simpleIntU;
         this.simpleLongU = simpleLongU;
+        this.simpleDate = simpleDate;
         if (STRING_VALUE_THROW_IN_CONSTRUCTOR.equals(simpleString)) {
             throw new RuntimeException(EXCEPTION_IN_CONSTRUCTOR_MESSAGE);
         }
@@ -184,4 +192,14 @@ public class TestEntity {
         this.simpleLongU = simpleLongU;
         return this;
     }
+
+    @Nullable
+    public Date getSimpleDate() {
+        return simpleDate;
+    }
+
+    public TestEntity setSimpleDate(@Nullable Date simpleDate) {
+        this.simpleDate = simpleDate;
+        return this;
+    }
 }
@@ -54,6 +54,7 @@ public final class TestEntityCursor extends Cursor<TestEntity> {
     private final static int __ID_simpleShortU = TestEntity_.simpleShortU.id;
     private final static int __ID_simpleIntU = TestEntity_.simpleIntU.id;
     private final static int __ID_simpleLongU = TestEntity_.simpleLongU.id;
+    private final static int __ID_simpleDate = TestEntity_.simpleDate.id;
 
     public TestEntityCursor(io.objectbox.Transaction tx, long cursor, BoxStore boxStore) {
         super(tx, cursor, TestEntity_.__INSTANCE, boxStore);
@@ -75,6 +76,8 @@ public final class TestEntityCursor extends Cursor<TestEntity> {
         int __id8 = simpleString != null ? __ID_simpleString : 0;
         byte[] simpleByteArray = entity.getSimpleByteArray();
         int __id9 = simpleByteArray != null ? __ID_simpleByteArray : 0;
+        java.util.Date simpleDate = entity.getSimpleDate();
+        int __id13 = simpleDate != null ? __ID_simpleDate : 0;
 
         collect313311(cursor, 0, PUT_FLAG_FIRST,
                 __id8, simpleString, 0, null,
@@ -85,8 +88,9 @@ public final class TestEntityCursor extends Cursor<TestEntity> {
                 __ID_simpleFloat, entity.getSimpleFloat(), __ID_simpleDouble, entity.getSimpleDouble());
 
         long __assignedId = collect004000(cursor, entity.getId(), PUT_FLAG_COMPLETE,
+                __id13, __id13 != 0 ? simpleDate.getTime() : 0,
                 __ID_simpleByte, entity.getSimpleByte(), __ID_simpleBoolean, entity.getSimpleBoolean() ? 1 : 0,
-                0, 0, 0, 0);
+                0, 0);
 
         entity.setId(__assignedId);
 
@@ -16,31 +16,22 @@
 
 package io.objectbox;
 
-public class TestEntityMinimal {
+public class TestEntityMinimal extends TestEntityMinimalBase {
 
-    private long id;
     private String text;
 
     public TestEntityMinimal() {
     }
 
     public TestEntityMinimal(long id) {
-        this.id = id;
+        setId(id);
     }
 
     public TestEntityMinimal(long id, String text) {
-        this.id = id;
+        setId(id);
         this.text = text;
     }
 
-    public long getId() {
-        return id;
-    }
-
-    public void setId(long id) {
-        this.id = id;
-    }
-
     public String getText() {
         return text;
     }
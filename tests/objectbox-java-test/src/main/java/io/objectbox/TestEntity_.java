@@ -86,6 +86,9 @@ public final class TestEntity_ implements EntityInfo<TestEntity> {
     public final static io.objectbox.Property<TestEntity> simpleLongU =
             new io.objectbox.Property<>(__INSTANCE, 12, 13, long.class, "simpleLongU");
 
+    public final static io.objectbox.Property<TestEntity> simpleDate =
+            new io.objectbox.Property<>(__INSTANCE, 13, 14, java.util.Date.class, "simpleDate");
+
     @SuppressWarnings("unchecked")
     public final static io.objectbox.Property<TestEntity>[] __ALL_PROPERTIES = new io.objectbox.Property[]{
             id,
@@ -100,7 +103,8 @@ public final class TestEntity_ implements EntityInfo<TestEntity> {
             simpleByteArray,
             simpleShortU,
             simpleIntU,
-            simpleLongU
+            simpleLongU,
+            simpleDate
     };
 
     public final static io.objectbox.Property<TestEntity> __ID_PROPERTY = id;
@@ -206,7 +206,9 @@ public abstract class AbstractObjectBoxTest {
         entityBuilder.property("simpleLongU", PropertyType.Long).id(TestEntity_.simpleLongU.id, ++lastUid)
                 .flags(PropertyFlags.UNSIGNED);
 
-        int lastId = TestEntity_.simpleLongU.id;
+        entityBuilder.property("simpleDate", PropertyType.Date).id(TestEntity_.simpleDate.id, ++lastUid);
+
+        int lastId = TestEntity_.simpleDate.id;
         entityBuilder.lastPropertyId(lastId, lastUid);
         addOptionalFlagsToTestEntity(entityBuilder);
         entityBuilder.entityDone();
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 ObjectBox Ltd. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.objectbox;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class AssignableIdTest extends AbstractObjectBoxTest {
+
+    private Box<TestEntity> box;
+
+    @Before
+    public void setUpBox() {
+        box = getTestEntityBox();
+    }
+
+    @Override
+    protected boolean areIdsAssignable() {
+        return true;
+    }
+
+    @Test
+    public void testReserveIds() {
+        putTestEntities(3);
+        // ID 4 is taken by the placeholder moving the sequence
+        assertEquals(5, box.reserveIds(5));
+        assertEquals(11, box.reserveIds(1));
+        assertEquals(13, box.reserveIds(2));
+        assertEquals(3, box.count());
+
+        // New objects get IDs after the reserved ranges
+        assertEquals(15, box.put(new TestEntity()));
+
+        TestEntity reserved = new TestEntity();
+        reserved.setId(5);
+        reserved.setSimpleString("reserved");
+        assertEquals(5, box.put(reserved));
+        assertNotNull(box.get(5));
+        assertEquals(5, box.count());
+    }
+
+}
@@ -20,9 +20,17 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.objectbox.exception.NumericOverflowException;
+import io.objectbox.exception.VersionConflictException;
+import io.objectbox.reactive.DataSubscription;
 
 import static org.junit.Assert.*;
 
@@ -103,6 +111,170 @@ public class BoxTest extends AbstractObjectBoxTest {
         }
     }
 
+    @Test
+    public void testPutOrReplaceByUnique() {
+        putTestEntities(3);
+        TestEntity entity = new TestEntity();
+        entity.setSimpleInt(2);
+        entity.setSimpleString("replaced");
+        TestEntity entity2 = new TestEntity();
+        entity2.setSimpleInt(4);
+        TestEntity entity3 = new TestEntity();
+        entity3.setSimpleInt(4);
+
+        long[] ids = box.putOrReplaceByUnique(Arrays.asList(entity, entity2, entity3), TestEntity_.simpleInt);
+        assertArrayEquals(new long[]{2, 4, 4}, ids);
+        assertEquals(4, box.count());
+        assertEquals("replaced", box.get(2).getSimpleString());
+
+        try {
+            box.putOrReplaceByUnique(entity, TestEntity_.simpleDouble);
+            fail("Should have thrown");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Unique property must be"));
+        }
+    }
+
+    @Test
+    public void testPutOrReplaceByUnique_string() {
+        store.close();
+        store.deleteAllFiles();
+        store = createBoxStoreBuilderWithTwoEntities(true).build();
+        // ID is declared by a super class of TestEntityMinimal
+        Box<TestEntityMinimal> box2 = store.boxFor(TestEntityMinimal.class);
+        box2.put(new TestEntityMinimal(0, "a"), new TestEntityMinimal(0, "b"));
+
+        TestEntityMinimal entity = new TestEntityMinimal(0, "b");
+        assertEquals(2, box2.putOrReplaceByUnique(entity, TestEntityMinimal_.text));
+        assertEquals(2, entity.getId());
+        assertEquals(2, box2.count());
+
+        TestEntityMinimal entity2 = new TestEntityMinimal(0, "c");
+        TestEntityMinimal entity3 = new TestEntityMinimal(0, "c");
+        long[] ids = box2.putOrReplaceByUnique(Arrays.asList(entity2, entity3), TestEntityMinimal_.text);
+        assertArrayEquals(new long[]{3, 3}, ids);
+        assertEquals(3, box2.count());
+    }
+
+    @Test
+    public void testUpdateProperty() {
+        TestEntity entity = putTestEntity("foo", 1);
+        long id = entity.getId();
+
+        box.update(id, TestEntity_.simpleString, "bar");
+        assertEquals("bar", box.get(id).getSimpleString());
+        assertEquals(1, box.get(id).getSimpleInt());
+
+        assertEquals(11, box.increment(id, TestEntity_.simpleInt, 10));
+        assertEquals(9, box.increment(id, TestEntity_.simpleInt, -2));
+        assertEquals(9, box.get(id).getSimpleInt());
+        try {
+            box.increment(id, TestEntity_.simpleInt, Integer.MAX_VALUE);
+            fail("Should have thrown");
+        } catch (NumericOverflowException e) {
+            assertTrue(e.getMessage().contains("does not fit"));
+        }
+
+        assertFalse(box.compareAndSet(id, TestEntity_.simpleLong, 1L, 2L));
+        assertTrue(box.compareAndSet(id, TestEntity_.simpleLong, 1001L, 2L));
+        assertEquals(2, box.get(id).getSimpleLong());
+
+        // Missing objects and the ID property are rejected the same way by all variants
+        assertThrows(IllegalArgumentException.class, () -> box.update(id + 1, TestEntity_.simpleString, "bar"));
+        assertThrows(IllegalArgumentException.class, () -> box.increment(id + 1, TestEntity_.simpleInt, 1));
+        assertThrows(IllegalArgumentException.class, () -> box.compareAndSet(id + 1, TestEntity_.simpleLong, 2L, 3L));
+        assertThrows(IllegalArgumentException.class, () -> box.update(id, TestEntity_.id, id + 1));
+        assertThrows(IllegalArgumentException.class, () -> box.compareAndSet(id, TestEntity_.id, id, id + 1));
+        assertEquals(1, box.count());
+    }
+
+    @Test
+    public void testPutIfChanged() {
+        List<TestEntity> entities = putTestEntities(3);
+        TestEntity entity = box.get(entities.get(0).getId());
+        assertFalse(box.isChanged(entity));
+        assertFalse(box.putIfChanged(entity));
+
+        entity.setSimpleByteArray(new byte[]{1, 2, 1});
+        assertFalse(box.isChanged(entity)); // Same content
+        entity.setSimpleString("changed");
+        assertTrue(box.isChanged(entity));
+        assertTrue(box.putIfChanged(entity));
+        assertFalse(box.isChanged(entity));
+
+        TestEntity newEntity = createTestEntity("new", 4);
+        assertTrue(box.isChanged(newEntity));
+        entities.get(1).setSimpleInt(42);
+        assertEquals(2, box.putIfChanged(Arrays.asList(entity, entities.get(1), entities.get(2), newEntity)));
+        assertEquals(4, box.count());
+        assertEquals(42, box.get(entities.get(1).getId()).getSimpleInt());
+    }
+
+    @Test
+    public void testPutIfChanged_inheritedProperty() {
+        store.close();
+        store.deleteAllFiles();
+        store = createBoxStoreBuilderWithTwoEntities(false).build();
+        // ID is declared by a super class of TestEntityMinimal
+        Box<TestEntityMinimal> box2 = store.boxFor(TestEntityMinimal.class);
+        long id = box2.put(new TestEntityMinimal(0, "foo"));
+
+        TestEntityMinimal entity = box2.get(id);
+        assertFalse(box2.isChanged(entity));
+        entity.setText("bar");
+        assertTrue(box2.putIfChanged(entity));
+        assertEquals("bar", box2.get(id).getText());
+        assertFalse(box2.isChanged(entity));
+    }
+
+    @Test
+    public void testPutWithVersion() {
+        TestEntity entity = createTestEntity("foo", 0);
+        box.putWithVersion(entity, TestEntity_.simpleInt);
+        assertEquals(1, entity.getSimpleInt());
+
+        TestEntity copy = box.get(entity.getId());
+        entity.setSimpleString("first");
+        box.putWithVersion(entity, TestEntity_.simpleInt);
+        assertEquals(2, entity.getSimpleInt());
+
+        // The copy was read before the previous put
+        copy.setSimpleString("second");
+        try {
+            box.putWithVersion(Arrays.asList(createTestEntity("new", 0), copy), TestEntity_.simpleInt);
+            fail("Should have thrown");
+        } catch (VersionConflictException e) {
+            assertTrue(e.getMessage().contains("does not match stored version 2"));
+        }
+        assertEquals(1, copy.getSimpleInt());
+        assertEquals(1, box.count());
+        assertEquals("first", box.get(entity.getId()).getSimpleString());
+
+        // Two copies with the same version in one call must not overwrite each other
+        TestEntity copy1 = box.get(entity.getId());
+        TestEntity copy2 = box.get(entity.getId());
+        try {
+            box.putWithVersion(Arrays.asList(copy1, copy2), TestEntity_.simpleInt);
+            fail("Should have thrown");
+        } catch (VersionConflictException e) {
+            assertTrue(e.getMessage().contains("more than once"));
+        }
+        assertEquals(2, box.get(entity.getId()).getSimpleInt());
+    }
+
+    @Test
+    public void testReserveIds_idNotAssignable() {
+        putTestEntities(3);
+        try {
+            box.reserveIds(1);
+            fail("Should have thrown");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("assignable"));
+        }
+        // The transaction was aborted, no placeholder is left
+        assertEquals(3, box.count());
+    }
+
     @Test
     public void testPutBatched() {
         List<TestEntity> entities = new ArrayList<>();
@@ -122,6 +294,33 @@ public class BoxTest extends AbstractObjectBoxTest {
         }
     }
 
+    @Test
+    public void testPutAdaptive() {
+        List<TestEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            TestEntity entity = new TestEntity();
+            entity.setSimpleInt(2000 + i);
+            entities.add(entity);
+        }
+        PutStats stats = box.putAdaptive(entities, 50);
+        assertEquals(entities.size(), box.count());
+        assertEquals(entities.size(), stats.getPutCount());
+        assertTrue(stats.getTransactionCount() >= 1);
+        assertTrue(stats.getTransactionCount() <= entities.size());
+        assertTrue(stats.getLastBatchSize() >= 1);
+        assertTrue(stats.getMaxTransactionMillis() <= stats.getDurationMillis());
+
+        List<TestEntity> entitiesRead = box.getAll();
+        for (int i = 0; i < entities.size(); i++) {
+            assertEquals(2000 + i, entitiesRead.get(i).getSimpleInt());
+        }
+
+        PutStats empty = box.putAdaptive(null, 50);
+        assertEquals(0, empty.getPutCount());
+        assertEquals(0, empty.getTransactionCount());
+        assertEquals(0, empty.getObjectsPerSecond(), 0);
+    }
+
     @Test
     public void testRemoveMany() {
         List<TestEntity> entities = new ArrayList<>();
@@ -157,6 +356,94 @@ public class BoxTest extends AbstractObjectBoxTest {
         assertEquals(0, box.count());
     }
 
+    @Test
+    public void testRemoveAllBatched() {
+        putTestEntities(10);
+        final AtomicLong lastCount = new AtomicLong();
+        assertEquals(10, box.removeAllBatched(4, (removedIds, removedCount) -> {
+            lastCount.set(removedCount);
+            return true;
+        }));
+        assertEquals(10, lastCount.get());
+        assertEquals(0, box.count());
+    }
+
+    @Test
+    public void testRemoveAllBatchedAsync() {
+        putTestEntities(10);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicLong result = new AtomicLong();
+        box.removeAllBatchedAsync(3, null, (removed, error) -> {
+            assertNull(error);
+            //noinspection ConstantConditions Not null without error.
+            result.set(removed);
+            latch.countDown();
+        });
+        assertLatchCountedDown(latch, 5);
+        assertEquals(10, result.get());
+        assertEquals(0, box.count());
+    }
+
+    @Test
+    public void testRemoveAllBatchedAsync_cancel() {
+        putTestEntities(10);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicLong result = new AtomicLong();
+        final CountDownLatch subscriptionSet = new CountDownLatch(1);
+        final DataSubscription[] subscription = new DataSubscription[1];
+        subscription[0] = box.removeAllBatchedAsync(3, (removedIds, removedCount) -> {
+            assertLatchCountedDown(subscriptionSet, 5);
+            subscription[0].cancel();
+            return true;
+        }, (removed, error) -> {
+            //noinspection ConstantConditions Not null without error.
+            result.set(removed);
+            latch.countDown();
+        });
+        subscriptionSet.countDown();
+        assertLatchCountedDown(latch, 5);
+        assertEquals(3, result.get());
+        assertEquals(7, box.count());
+    }
+
+    @Test
+    public void testRemoveExpired() {
+        putTestEntities(5); // simpleLong values are in the past
+        TestEntity notExpired = createTestEntity("future", 6);
+        notExpired.setSimpleLong(System.currentTimeMillis() + 3600 * 1000);
+        box.put(notExpired);
+
+        assertEquals(5, box.removeExpired(TestEntity_.simpleLong, 2));
+        assertEquals(1, box.count());
+        assertEquals(0, box.removeExpired(TestEntity_.simpleLong, 2));
+    }
+
+    @Test
+    public void testRemoveExpired_nullDateDoesNotExpire() {
+        TestEntity expired = createTestEntity("expired", 1);
+        expired.setSimpleDate(new Date(System.currentTimeMillis() - 1000));
+        box.put(expired);
+        TestEntity noDate = createTestEntity("no date", 2);
+        box.put(noDate);
+
+        assertEquals(1, box.removeExpired(TestEntity_.simpleDate, 10));
+        assertNull(box.get(expired.getId()));
+        assertNotNull(box.get(noDate.getId()));
+    }
+
+    @Test
+    public void testExpirySweeper() throws InterruptedException {
+        DataSubscription sweeper = box.startExpirySweeper(TestEntity_.simpleLong, 10, 3);
+        putTestEntities(5);
+        for (int i = 0; i < 100 && box.count() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, box.count());
+
+        sweeper.cancel();
+        assertTrue(sweeper.isCanceled());
+    }
+
     // https://github.com/objectbox/objectbox-java/issues/626
     @Test
     public void testGetAllAfterGetAndRemove() {
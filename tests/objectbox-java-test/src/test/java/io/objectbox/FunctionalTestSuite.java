@@ -41,6 +41,7 @@ import org.junit.runners.Suite.SuiteClasses;
         CursorBytesTest.class,
         DebugCursorTest.class,
         LazyListTest.class,
+        AssignableIdTest.class,
         NonArgConstructorTest.class,
         IndexReaderRenewTest.class,
         ObjectClassObserverTest.class,
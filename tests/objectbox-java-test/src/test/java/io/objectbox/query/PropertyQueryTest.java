@@ -18,11 +18,13 @@ package io.objectbox.query;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import io.objectbox.TestEntity;
 import io.objectbox.TestEntityCursor;
+import io.objectbox.TestEntity_;
 import io.objectbox.exception.DbException;
 import io.objectbox.exception.NumericOverflowException;
 import io.objectbox.query.QueryBuilder.StringOrder;
@@ -40,6 +42,7 @@ import static io.objectbox.TestEntity_.simpleLongU;
 import static io.objectbox.TestEntity_.simpleShort;
 import static io.objectbox.TestEntity_.simpleShortU;
 import static io.objectbox.TestEntity_.simpleString;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -913,4 +916,170 @@ public class PropertyQueryTest extends AbstractQueryTest {
         assertEquals(-2.05, sum, 0.0001);
     }
 
+    @Test
+    public void testGroupBy() {
+        putTestEntity("a", 1);
+        putTestEntity("b", 2);
+        putTestEntity("a", 3);
+        putTestEntity(null, 4);
+
+        GroupByResult result = box.query().build().groupBy(simpleString)
+                .count().sum(simpleInt).max(simpleLong).avg(simpleDouble)
+                .find();
+        assertEquals(2, result.size());
+        assertArrayEquals(new String[]{"a", "b"}, result.getStringKeys());
+        assertArrayEquals(new long[]{2, 1}, result.getLongs(0));
+        assertArrayEquals(new long[]{4, 2}, result.getLongs(1));
+        assertArrayEquals(new long[]{1003, 1002}, result.getLongs(2));
+        assertFalse(result.isLong(3));
+        assertEquals(2000.02, result.getDoubles(3)[0], 0.001);
+    }
+
+    @Test
+    public void testGroupBy_longKeys() {
+        putTestEntity("a", 1);
+        putTestEntity("b", 2);
+        putTestEntity("c", 3);
+
+        GroupByResult result = box.query().order(simpleInt).build().groupBy(simpleInt)
+                .count().min(simpleLong)
+                .find();
+        assertArrayEquals(new long[]{1, 2, 3}, result.getKeys());
+        assertArrayEquals(new long[]{1, 1, 1}, result.getLongs(0));
+        assertArrayEquals(new long[]{1001, 1002, 1003}, result.getLongs(1));
+        assertThrows(IllegalStateException.class, result::getStringKeys);
+        assertThrows(IllegalArgumentException.class, () -> box.query().build().groupBy(simpleFloat));
+    }
+
+    @Test
+    public void testProject() {
+        putTestEntity("a", 1);
+        putTestEntity(null, 2);
+        putTestEntity("a", 1);
+
+        ProjectionResult result = box.query().build().project(simpleInt, simpleString, simpleDouble).withNulls()
+                .find();
+        assertEquals(3, result.size());
+        assertArrayEquals(new long[]{1, 2, 1}, result.getLongs(0));
+        assertArrayEquals(new String[]{"a", null, "a"}, result.getStrings(1));
+        assertTrue(result.isNull(1, 1));
+        assertFalse(result.isNull(1, 0));
+        assertEquals(2000.02, result.getDoubles(2)[1], 0.001);
+        assertThrows(IllegalStateException.class, () -> result.getDoubles(0));
+
+        // Without detecting null values
+        ProjectionResult noNulls = box.query().build().project(simpleString).find();
+        assertArrayEquals(new String[]{"a", "", "a"}, noNulls.getStrings(0));
+        assertNull(noNulls.getNulls(0));
+
+        ProjectionResult distinct = box.query().build().project(simpleInt, simpleString).distinct().find();
+        assertArrayEquals(new long[]{1, 2}, distinct.getLongs(0));
+
+        ProjectionResult sliced = box.query().build().project(simpleInt).find(1, 1);
+        assertArrayEquals(new long[]{2}, sliced.getLongs(0));
+    }
+
+    @Test
+    public void testApproxAggregates() {
+        putTestEntities(100, "foo", 1);
+        Query<TestEntity> query = box.query().build();
+
+        long distinctCount = query.property(simpleInt).approxCountDistinct();
+        assertEquals(100, distinctCount, 2);
+        assertEquals(100, query.property(simpleString).approxCountDistinct(), 2);
+
+        double[] quantiles = query.property(simpleInt).approxQuantiles(0, 0.5, 1);
+        assertEquals(1, quantiles[0], 0);
+        assertEquals(50, quantiles[1], 1);
+        assertEquals(100, quantiles[2], 0);
+        assertThrows(IllegalArgumentException.class, () -> query.property(simpleString).approxQuantiles(0.5));
+
+        PropertySummary summary = query.property(simpleLong).summary();
+        assertEquals(100, summary.getCount());
+        assertEquals(1001, summary.getMin());
+        assertEquals(1100, summary.getMax());
+        assertEquals(105050, summary.getSum());
+        assertEquals(1050.5, summary.getAverage(), 0.001);
+    }
+
+    @Test
+    public void summary_longPrecisionAndOverflow() {
+        putTestEntityInteger((byte) 0, (short) 0, 0, Long.MAX_VALUE);
+        putTestEntityInteger((byte) 0, (short) 0, 0, Long.MAX_VALUE - 1);
+        Query<TestEntity> query = box.query().build();
+
+        NumericOverflowException exception = assertThrows(NumericOverflowException.class, () ->
+                query.property(simpleLong).summary()
+        );
+        assertTrue(exception.getMessage().contains("Numeric overflow"));
+
+        PropertySummary summary = box.query().less(simpleLong, Long.MAX_VALUE).build().property(simpleLong).summary();
+        assertEquals(Long.MAX_VALUE - 1, summary.getMin());
+        assertEquals(Long.MAX_VALUE - 1, summary.getSum());
+    }
+
+    @Test
+    public void testApproxAggregates_noValues() {
+        Query<TestEntity> query = box.query().build();
+        assertEquals(0, query.property(simpleInt).approxCountDistinct());
+        assertTrue(Double.isNaN(query.property(simpleDouble).approxQuantiles(0.5)[0]));
+        PropertySummary summary = query.property(simpleDouble).summary();
+        assertEquals(0, summary.getCount());
+        assertTrue(Double.isNaN(summary.getMinDouble()));
+        assertTrue(Double.isNaN(summary.getAverage()));
+        assertThrows(IllegalStateException.class, summary::getMin);
+    }
+
+    @Test
+    public void testForEach() {
+        putTestEntities(3, "foo", 1);
+        Query<TestEntity> query = box.query().build();
+
+        final List<Long> longs = new ArrayList<>();
+        query.property(simpleInt).forEachLong(longs::add);
+        query.property(simpleLong).forEachLong(longs::add);
+        assertEquals(Arrays.asList(1L, 2L, 3L, 1001L, 1002L, 1003L), longs);
+
+        final List<Double> doubles = new ArrayList<>();
+        query.property(simpleFloat).forEachDouble(doubles::add);
+        assertEquals(3, doubles.size());
+        assertEquals(200.1, doubles.get(0), 0.001);
+
+        final List<String> strings = new ArrayList<>();
+        query.property(simpleString).forEachString(strings::add);
+        assertEquals(Arrays.asList("foo1", "foo2", "foo3"), strings);
+    }
+
+    @Test
+    public void testOrderAndLimit() {
+        putTestEntity("b", 3);
+        putTestEntity("C", 1);
+        putTestEntity("a", 2);
+        Query<TestEntity> query = box.query().build();
+
+        assertArrayEquals(new int[]{1, 2, 3}, query.property(simpleInt).order().findInts());
+        assertArrayEquals(new long[]{1003, 1002}, query.property(simpleLong)
+                .order(QueryBuilder.DESCENDING).limit(2).findLongs());
+        assertEquals(2, query.property(simpleInt).limit(2).findInts().length);
+
+        assertArrayEquals(new String[]{"a", "b", "C"}, query.property(simpleString).order().findStrings());
+        assertArrayEquals(new String[]{"C", "a", "b"}, query.property(simpleString)
+                .order(QueryBuilder.CASE_SENSITIVE).findStrings());
+        assertArrayEquals(new String[]{"C"}, query.property(simpleString)
+                .order(QueryBuilder.DESCENDING).limit(1).findStrings());
+    }
+
+    @Test
+    public void testIdProperty() {
+        putTestEntities(5);
+        Query<TestEntity> query = box.query().greater(simpleInt, 2).build();
+
+        assertArrayEquals(new long[]{3, 4, 5}, query.property(TestEntity_.id).findLongs());
+        assertEquals(3, query.property(TestEntity_.id).count());
+        assertEquals(3, query.property(TestEntity_.id).min());
+        assertEquals(5, query.property(TestEntity_.id).max());
+        assertArrayEquals(new long[]{5, 4}, query.property(TestEntity_.id)
+                .order(QueryBuilder.DESCENDING).limit(2).findLongs());
+    }
+
 }
@@ -22,6 +22,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
 
@@ -47,6 +50,7 @@ import static io.objectbox.TestEntity_.simpleInt;
 import static io.objectbox.TestEntity_.simpleLong;
 import static io.objectbox.TestEntity_.simpleShort;
 import static io.objectbox.TestEntity_.simpleString;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -108,6 +112,60 @@ public class QueryTest extends AbstractQueryTest {
         assertEquals(8, all.get(0).getId());
     }
 
+    @Test
+    public void testExistsAndCountMax() {
+        putTestEntitiesScalars();
+
+        Query<TestEntity> query = box.query().greater(simpleInt, 2004).build();
+        assertTrue(query.exists());
+        assertEquals(3, query.count(3));
+        assertEquals(5, query.count(100));
+        assertEquals(5, query.count(0));
+
+        query.setParameter(simpleInt, 2009);
+        assertFalse(query.exists());
+        assertEquals(0, query.count(3));
+        assertFalse(query.bind().param(simpleInt, 2010).exists());
+    }
+
+    @Test
+    public void testUpdate() {
+        putTestEntitiesScalars();
+        Query<TestEntity> query = box.query().greater(simpleInt, 2007).build();
+        assertEquals(2, query.update(simpleString, "updated"));
+        assertEquals(2, box.query().equal(simpleString, "updated").build().count());
+        assertEquals(2009, box.get(10).getSimpleInt());
+    }
+
+    @Test
+    public void testUpdateAndRemoveGetIds() {
+        putTestEntitiesScalars();
+        Query<TestEntity> query = box.query().greater(simpleInt, 2007).build();
+        assertArrayEquals(new long[]{9, 10}, query.updateAndGetIds(simpleString, "updated"));
+        assertArrayEquals(new long[]{9, 10}, query.removeAndGetIds());
+        assertEquals(8, box.count());
+        assertEquals(0, query.removeAndGetIds().length);
+    }
+
+    @Test
+    public void testRemoveBatched() {
+        putTestEntitiesScalars();
+        Query<TestEntity> query = box.query().less(simpleInt, 2007).build();
+        final List<long[]> batches = new ArrayList<>();
+        assertEquals(7, query.removeBatched(3, (removedIds, removedCount) -> {
+            batches.add(removedIds);
+            return true;
+        }));
+        assertEquals(3, batches.size());
+        assertArrayEquals(new long[]{7}, batches.get(2));
+        assertEquals(3, box.count());
+
+        // Stop after first batch
+        putTestEntitiesScalars();
+        assertEquals(2, query.removeBatched(2, (removedIds, removedCount) -> false));
+        assertEquals(11, box.count());
+    }
+
     @Test
     public void testBooleanEqual() {
         putTestEntitiesScalars();
@@ -243,6 +301,25 @@ public class QueryTest extends AbstractQueryTest {
         assertEquals(2, box.query().contains(simpleString, "nana").build().count());
     }
 
+    @Test
+    public void testStringMatches() {
+        putTestEntitiesStrings();
+        assertEquals(4, box.query().matches(simpleString, "Shake, BANANA!").build().findUnique().getId());
+        assertEquals(2, box.query().matches(simpleString, "bar").build().count());
+        assertEquals(2, box.query().matches(simpleString, "milk banana").or().equal(simpleString, "apple")
+                .build().count());
+        try {
+            box.query().matches(simpleString, " ,. ");
+            fail("Should have thrown");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("No terms to match"));
+        }
+
+        // Letters outside the BMP (here mathematical bold A and B) are represented by surrogate pairs
+        putTestEntity("\uD835\uDC00\uD835\uDC01 shake", 100);
+        assertEquals(1, box.query().matches(simpleString, "\uD835\uDC00\uD835\uDC01!").build().count());
+    }
+
     @Test
     public void testStringLess() {
         putTestEntitiesStrings();
@@ -299,6 +376,29 @@ public class QueryTest extends AbstractQueryTest {
         assertEquals("foo bar", entities.get(2).getSimpleString());
     }
 
+    @Test
+    public void testStringBetween() {
+        putTestEntitiesStrings();
+        putTestEntity("BAR", 100);
+        Query<TestEntity> query = box.query().between(simpleString, "banana", "bar").order(simpleString).build();
+        List<TestEntity> entities = query.find();
+        assertEquals(4, entities.size());
+        assertEquals("banana", entities.get(0).getSimpleString());
+        assertEquals("banana milk shake", entities.get(1).getSimpleString());
+
+        // Case sensitive
+        query = box.query().between(simpleString, "banana", "bar", StringOrder.CASE_SENSITIVE).build();
+        assertEquals(3, query.count());
+    }
+
+    @Test
+    public void testByteArrayBetween() {
+        putTestEntitiesScalars();
+        byte[] value1 = {1, 2, (byte) 2002};
+        byte[] value2 = {1, 2, (byte) 2004};
+        assertEquals(3, box.query().between(simpleByteArray, value1, value2).build().count());
+    }
+
     @Test
     public void testStringIn() {
         putTestEntitiesStrings();
@@ -448,6 +548,21 @@ public class QueryTest extends AbstractQueryTest {
         assertNull(result.get(6).getSimpleString());
     }
 
+    @Test
+    public void testOrderStable() {
+        putTestEntity("b", 1);
+        putTestEntity("a", 2);
+        putTestEntity("b", 3);
+        putTestEntity("a", 4);
+        Query<TestEntity> query = box.query().orderStable().orderDesc(simpleString).build();
+        assertArrayEquals(new long[]{1, 3, 2, 4}, query.findIds());
+
+        List<TestEntity> page = query.find(1, 2);
+        assertEquals(2, page.size());
+        assertEquals(3, page.get(0).getId());
+        assertEquals(2, page.get(1).getId());
+    }
+
     @Test
     public void testRemove() {
         putTestEntitiesScalars();
@@ -566,6 +681,60 @@ public class QueryTest extends AbstractQueryTest {
         assertEquals(8, query.findUnique().getId());
     }
 
+    @Test
+    public void testBind() {
+        putTestEntitiesScalars();
+        Query<TestEntity> query = box.query().equal(simpleInt, 0).parameterAlias("foo").build();
+        assertEquals(0, query.count());
+
+        assertEquals(8, query.bind().param(simpleInt, 2007).findUnique().getId());
+        assertEquals(5, query.bind().param("foo", 2004).findFirst().getId());
+        assertEquals(1, query.bind().param(simpleInt, 2002).count());
+        assertArrayEquals(new long[]{3}, query.bind().param(simpleInt, 2002).findIds());
+    }
+
+    @Test
+    public void testBind_multipleThreads() throws InterruptedException {
+        putTestEntitiesScalars();
+        Query<TestEntity> query = box.query().equal(simpleInt, 0).build();
+
+        int threadCount = 4;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger errors = new AtomicInteger();
+        for (int t = 0; t < threadCount; t++) {
+            final int offset = t;
+            new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    int value = 2000 + (offset + i) % 10;
+                    List<TestEntity> result = query.bind().param(simpleInt, value).find();
+                    if (result.size() != 1 || result.get(0).getSimpleInt() != value) {
+                        errors.incrementAndGet();
+                    }
+                }
+                store.closeThreadResources();
+                latch.countDown();
+            }).start();
+        }
+        assertLatchCountedDown(latch, 10);
+        assertEquals(0, errors.get());
+    }
+
+    @Test
+    public void testFindForEach() {
+        putTestEntitiesScalars();
+        Query<TestEntity> query = box.query().equal(simpleInt, 0).build();
+
+        Map<Long, List<TestEntity>> results = query.findForEach(simpleInt, new long[]{2007, 2002, 42});
+        assertEquals(3, results.size());
+        assertEquals(8, results.get(2007L).get(0).getId());
+        assertEquals(3, results.get(2002L).get(0).getId());
+        assertTrue(results.get(42L).isEmpty());
+
+        Map<Long, long[]> ids = query.findIdsForEach(simpleInt, new long[]{2004, 42});
+        assertArrayEquals(new long[]{5}, ids.get(2004L));
+        assertEquals(0, ids.get(42L).length);
+    }
+
     @Test
     public void testSetParameterFloat() {
         putTestEntitiesScalars();
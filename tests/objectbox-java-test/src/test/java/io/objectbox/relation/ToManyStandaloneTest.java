@@ -406,6 +406,42 @@ public class ToManyStandaloneTest extends AbstractRelationTest {
         assertEquals("new2", toMany.get(4).getText());
     }
 
+    @Test
+    public void testLinkAndUnlinkRelations() {
+        Customer customer1 = putCustomer();
+        Customer customer2 = putCustomer();
+        Order order1 = putOrder(null, "order1");
+        Order order2 = putOrder(null, "order2");
+        Order order3 = putOrder(null, "order3");
+
+        long[] sourceIds = {customer1.getId(), customer1.getId(), customer2.getId(), customer1.getId()};
+        long[] targetIds = {order1.getId(), order2.getId(), order2.getId(), order3.getId()};
+        customerBox.linkRelations(Customer_.ordersStandalone, sourceIds, targetIds);
+
+        assertArrayEquals(new long[]{order1.getId(), order2.getId(), order3.getId()},
+                orderBox.getRelationIds(Customer_.ordersStandalone, customer1.getId()));
+        assertArrayEquals(new long[]{order2.getId()},
+                orderBox.getRelationIds(Customer_.ordersStandalone, customer2.getId()));
+        ToMany<Order> toMany = customerBox.get(customer1.getId()).getOrdersStandalone();
+        assertEquals(3, toMany.size());
+
+        customerBox.unlinkRelations(Customer_.ordersStandalone,
+                new long[]{customer1.getId(), customer2.getId()}, new long[]{order2.getId(), order2.getId()});
+        assertArrayEquals(new long[]{order1.getId(), order3.getId()},
+                orderBox.getRelationIds(Customer_.ordersStandalone, customer1.getId()));
+        assertEquals(0, orderBox.getRelationIds(Customer_.ordersStandalone, customer2.getId()).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLinkRelations_lengthMismatch() {
+        customerBox.linkRelations(Customer_.ordersStandalone, new long[]{1, 2}, new long[]{1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLinkRelations_notStandalone() {
+        customerBox.linkRelations(Customer_.orders, new long[]{1}, new long[]{1});
+    }
+
     private Customer putCustomerWithOrders(int orderCount) {
         Customer customer = new Customer();
         customer.setName("Joe");
@@ -44,6 +44,21 @@ public class ToManyTest extends AbstractRelationTest {
         assertEquals("order2", toMany.get(1).getText());
     }
 
+    @Test
+    public void testPutIfChanged() {
+        Customer customer = putCustomer();
+        Order order = putOrder(null, "order1");
+        customer = customerBox.get(customer.getId());
+        assertFalse(customerBox.isChanged(customer));
+
+        // Declared as List, but holds a ToMany
+        customer.getOrders().add(order);
+        assertTrue(customerBox.isChanged(customer));
+        assertTrue(customerBox.putIfChanged(customer));
+        assertEquals(1, customerBox.get(customer.getId()).getOrders().size());
+        assertEquals(customer.getId(), orderBox.get(order.getId()).getCustomerId());
+    }
+
     @Test
     public void testReset() {
         Customer customer = putCustomerWithOrders(2);